@@ -0,0 +1,41 @@
+#!/bin/sh
+# Compila e executa o modo servidor (MainServidor), sem JavaFX.
+#
+# Na primeira execução (ou depois de recompilar) é feita uma execução de treino que gera
+# um arquivo de class-data sharing (AppCDS) com as classes usadas para atender requisições;
+# as execuções seguintes carregam esse arquivo e sobem bem mais rápido.
+#
+# Uso: scripts/servidor.sh            compila se preciso e inicia o servidor
+#      scripts/servidor.sh --limpar   apaga as classes compiladas e o arquivo CDS
+#
+# Requer JDK 21 (ou 19+) no PATH. Opções extras da JVM podem ser passadas em JAVA_OPTS.
+set -e
+
+RAIZ=$(cd "$(dirname "$0")/.." && pwd)
+CLASSES="$RAIZ/build/servidor/classes"
+JAR="$RAIZ/build/servidor/ru-servidor.jar"
+ARQUIVO_CDS="$RAIZ/build/servidor/ru.jsa"
+
+if [ "$1" = "--limpar" ]; then
+    rm -rf "$RAIZ/build/servidor"
+    exit 0
+fi
+
+# Compila só o que não depende do JavaFX (tudo menos Main.java e o pacote View).
+# O AppCDS só aceita classes dentro de JARs, por isso o resultado é empacotado.
+if [ ! -f "$JAR" ] || [ -n "$(find "$RAIZ/src" -name '*.java' -newer "$JAR" | head -n 1)" ]; then
+    rm -rf "$CLASSES" "$JAR" "$ARQUIVO_CDS"
+    mkdir -p "$CLASSES"
+    find "$RAIZ/src/Model" "$RAIZ/src/Controller" -name '*.java' > "$RAIZ/build/servidor/fontes.txt"
+    echo "$RAIZ/src/MainServidor.java" >> "$RAIZ/build/servidor/fontes.txt"
+    javac -encoding UTF-8 -d "$CLASSES" @"$RAIZ/build/servidor/fontes.txt"
+    jar --create --file "$JAR" --main-class MainServidor -C "$CLASSES" .
+fi
+
+# Execução de treino: carrega as classes do caminho de atendimento e grava o arquivo CDS ao sair
+if [ ! -f "$ARQUIVO_CDS" ]; then
+    java -XX:ArchiveClassesAtExit="$ARQUIVO_CDS" -cp "$JAR" MainServidor --treinar
+fi
+
+# -Xshare:auto (padrão) ignora o arquivo se ele não for compatível com esta JVM, em vez de falhar
+exec java -XX:SharedArchiveFile="$ARQUIVO_CDS" $JAVA_OPTS -cp "$JAR" MainServidor
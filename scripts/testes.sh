@@ -0,0 +1,19 @@
+#!/bin/sh
+# Compila e executa os testes (classes Teste* da pasta test), sem JavaFX e sem bibliotecas externas.
+# Cada teste é um programa com main que termina com código diferente de zero se algo falhar.
+#
+# Uso: scripts/testes.sh
+set -e
+
+RAIZ=$(cd "$(dirname "$0")/.." && pwd)
+CLASSES="$RAIZ/build/testes/classes"
+
+rm -rf "$CLASSES"
+mkdir -p "$CLASSES"
+find "$RAIZ/src/Model" "$RAIZ/src/Controller" "$RAIZ/test" -name '*.java' > "$RAIZ/build/testes/fontes.txt"
+javac -encoding UTF-8 -d "$CLASSES" @"$RAIZ/build/testes/fontes.txt"
+
+for teste in $(cd "$RAIZ/test" && find . -name 'Teste*.java' | sed 's|^\./||; s|\.java$||; s|/|.|g'); do
+    echo "== $teste"
+    java -cp "$CLASSES" "$teste"
+done
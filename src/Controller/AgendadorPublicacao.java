@@ -0,0 +1,394 @@
+package Controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import Model.AgendamentoPublicacao;
+import Model.ConfiguracoesAplicacao;
+import Model.RodaTemporal;
+
+/**
+ * Agenda a publicação e a despublicação de cardápios para instantes futuros.
+ * Todos os agendamentos compartilham uma única RodaTemporal e uma única thread,
+ * que avança a roda uma vez por segundo.
+ * Os agendamentos pendentes são gravados em arquivo a cada alteração e recarregados
+ * em iniciar(), de modo que sobrevivem a reinicializações da aplicação.
+ * Um pouco antes de cada publicação os aquecedores registrados são chamados com o agendamento
+ * (ex: o ExportadorEstatico já deixa os arquivos do dia renderizados e o CacheQuiosque se
+ * programa para revalidar logo após o horário), para que a primeira leitura após a publicação
+ * não encontre caches frios.
+ * A antecedência do aquecimento vem de ConfiguracoesAplicacao e é lida a cada novo agendamento.
+ *
+ * Um agendamento que falha (ex: publicar um cardápio vazio) não é descartado: ele passa para a
+ * lista de falhas, que também vai para o arquivo, e os ouvintes de falha são avisados. A falha
+ * só some quando o administrador a descarta (descartarFalhas).
+ */
+public class AgendadorPublicacao {
+
+    /** Resolução da roda temporal */
+    private static final long DURACAO_TICK_MS = 1000;
+
+    /** Evento guardado na roda: aquecimento prévio ou execução do agendamento */
+    private static class Evento {
+        final AgendamentoPublicacao agendamento;
+        final boolean aquecimento;
+
+        Evento(AgendamentoPublicacao agendamento, boolean aquecimento) {
+            this.agendamento = agendamento;
+            this.aquecimento = aquecimento;
+        }
+    }
+
+    private final ISistemaRU sistema;
+    private final Path arquivo;
+
+    /** Agendamentos ainda não executados (é o que vai para o arquivo) */
+    private final Set<AgendamentoPublicacao> pendentes = new LinkedHashSet<>();
+    /** Agendamentos que falharam e ainda não foram descartados (também vão para o arquivo) */
+    private final List<AgendamentoPublicacao> falhas = new ArrayList<>();
+    private final List<Consumer<AgendamentoPublicacao>> aquecedores = new CopyOnWriteArrayList<>();
+    private final List<Consumer<AgendamentoPublicacao>> ouvintesFalha = new CopyOnWriteArrayList<>();
+    private final RodaTemporal<Evento> roda = new RodaTemporal<>(DURACAO_TICK_MS, System.currentTimeMillis());
+    private ScheduledExecutorService relogio;
+
+    /**
+     * @param sistema sistema onde as publicações serão aplicadas
+     * @param arquivo arquivo onde os agendamentos pendentes são persistidos
+     */
+    public AgendadorPublicacao(ISistemaRU sistema, Path arquivo) {
+        this.sistema = Objects.requireNonNull(sistema, "Sistema não pode ser nulo.");
+        this.arquivo = Objects.requireNonNull(arquivo, "Arquivo não pode ser nulo.");
+    }
+
+    /**
+     * Registra uma ação executada pouco antes de cada publicação agendada
+     * (ex: pré-carregar caches ou gerar arquivos serializados da data).
+     * Deve ser registrada antes de iniciar(), que já pode disparar agendamentos atrasados.
+     * @param aquecedor ação que recebe o agendamento que será executado
+     */
+    public void adicionarAquecedor(Consumer<AgendamentoPublicacao> aquecedor) {
+        aquecedores.add(Objects.requireNonNull(aquecedor, "Aquecedor não pode ser nulo."));
+    }
+
+    /**
+     * Registra um componente para ser avisado quando um agendamento falhar.
+     * O aviso chega na thread do agendador, com o agendamento já marcado como falha.
+     * Deve ser registrado antes de iniciar(), que já pode executar agendamentos atrasados.
+     * @param ouvinte componente a ser avisado
+     */
+    public void adicionarOuvinteFalha(Consumer<AgendamentoPublicacao> ouvinte) {
+        ouvintesFalha.add(Objects.requireNonNull(ouvinte, "Ouvinte não pode ser nulo."));
+    }
+
+    /**
+     * Carrega os agendamentos do arquivo e começa a avançar a roda.
+     * Agendamentos cujo instante já passou (ex: a aplicação estava parada) são executados logo em seguida.
+     * @throws IOException se o arquivo existir mas não puder ser lido
+     */
+    public synchronized void iniciar() throws IOException {
+        if (relogio != null) {
+            return;
+        }
+        for (AgendamentoPublicacao agendamento : lerArquivo()) {
+            if (agendamento.isFalhou()) {
+                falhas.add(agendamento);
+            } else {
+                registrar(agendamento);
+            }
+        }
+
+        relogio = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "agendador-publicacao");
+            t.setDaemon(true);
+            return t;
+        });
+        relogio.scheduleAtFixedRate(this::avancar, 0, DURACAO_TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Para a thread do agendador. Os agendamentos pendentes continuam gravados no arquivo.
+     */
+    public synchronized void parar() {
+        if (relogio != null) {
+            relogio.shutdownNow();
+            relogio = null;
+        }
+    }
+
+    /**
+     * Agenda a publicação (ou despublicação) de várias datas para o mesmo instante.
+     * @param datas datas dos cardápios
+     * @param publicar true para publicar, false para despublicar
+     * @param instante momento da alteração
+     * @throws IOException se não for possível gravar o arquivo de agendamentos
+     */
+    public synchronized void agendar(Collection<LocalDate> datas, boolean publicar, Instant instante) throws IOException {
+        Objects.requireNonNull(datas, "Datas não podem ser nulas.");
+        Objects.requireNonNull(instante, "Instante não pode ser nulo.");
+
+        for (LocalDate data : datas) {
+            Objects.requireNonNull(data, "Data não pode ser nula.");
+            registrar(new AgendamentoPublicacao(data, publicar, instante));
+        }
+        gravarArquivo();
+    }
+
+    /**
+     * Agenda a publicação (ou despublicação) de uma data.
+     * @param data data do cardápio
+     * @param publicar true para publicar, false para despublicar
+     * @param instante momento da alteração
+     * @throws IOException se não for possível gravar o arquivo de agendamentos
+     */
+    public void agendar(LocalDate data, boolean publicar, Instant instante) throws IOException {
+        agendar(List.of(data), publicar, instante);
+    }
+
+    /**
+     * Cancela todos os agendamentos ainda não executados de uma data.
+     * @param data data do cardápio
+     * @return quantidade de agendamentos cancelados
+     * @throws IOException se não for possível gravar o arquivo de agendamentos
+     */
+    public synchronized int cancelar(LocalDate data) throws IOException {
+        Objects.requireNonNull(data, "Data não pode ser nula.");
+        int cancelados = 0;
+        // Os eventos continuam na roda, mas são ignorados por não estarem mais pendentes
+        for (Iterator<AgendamentoPublicacao> it = pendentes.iterator(); it.hasNext(); ) {
+            if (it.next().getData().equals(data)) {
+                it.remove();
+                cancelados++;
+            }
+        }
+        if (cancelados > 0) {
+            gravarArquivo();
+        }
+        return cancelados;
+    }
+
+    /**
+     * @param data data do cardápio
+     * @return agendamentos da data que falharam e ainda não foram descartados
+     */
+    public synchronized List<AgendamentoPublicacao> listarFalhas(LocalDate data) {
+        List<AgendamentoPublicacao> daData = new ArrayList<>();
+        for (AgendamentoPublicacao agendamento : falhas) {
+            if (agendamento.getData().equals(data)) {
+                daData.add(agendamento);
+            }
+        }
+        return daData;
+    }
+
+    /**
+     * Descarta as falhas de uma data (o administrador já tomou conhecimento delas).
+     * @param data data do cardápio
+     * @return quantidade de falhas descartadas
+     * @throws IOException se não for possível gravar o arquivo de agendamentos
+     */
+    public synchronized int descartarFalhas(LocalDate data) throws IOException {
+        Objects.requireNonNull(data, "Data não pode ser nula.");
+        int descartadas = 0;
+        for (Iterator<AgendamentoPublicacao> it = falhas.iterator(); it.hasNext(); ) {
+            if (it.next().getData().equals(data)) {
+                it.remove();
+                descartadas++;
+            }
+        }
+        if (descartadas > 0) {
+            gravarArquivo();
+        }
+        return descartadas;
+    }
+
+    /**
+     * @return cópia dos agendamentos ainda não executados
+     */
+    public synchronized List<AgendamentoPublicacao> listarPendentes() {
+        return new ArrayList<>(pendentes);
+    }
+
+    /**
+     * @param data data do cardápio
+     * @return agendamentos da data ainda não executados, na ordem em que foram feitos
+     */
+    public synchronized List<AgendamentoPublicacao> listarPendentes(LocalDate data) {
+        List<AgendamentoPublicacao> daData = new ArrayList<>();
+        for (AgendamentoPublicacao agendamento : pendentes) {
+            if (agendamento.getData().equals(data)) {
+                daData.add(agendamento);
+            }
+        }
+        return daData;
+    }
+
+    private void registrar(AgendamentoPublicacao agendamento) {
+        pendentes.add(agendamento);
+        long instanteMs = agendamento.getInstante().toEpochMilli();
+        if (agendamento.isPublicar()) {
+            long antecedenciaMs = ConfiguracoesAplicacao.getInstancia().getAtual().getAntecedenciaAquecimentoMs();
+            roda.agendar(new Evento(agendamento, true), instanteMs - antecedenciaMs);
+        }
+        roda.agendar(new Evento(agendamento, false), instanteMs);
+    }
+
+    /**
+     * Executado pela thread do relógio: avança a roda e processa os eventos vencidos.
+     */
+    private void avancar() {
+        List<Evento> vencidos;
+        synchronized (this) {
+            vencidos = roda.avancarAte(System.currentTimeMillis());
+        }
+        if (vencidos.isEmpty()) {
+            return;
+        }
+
+        boolean executouAlgum = false;
+        for (Evento evento : vencidos) {
+            synchronized (this) {
+                if (!pendentes.contains(evento.agendamento)) {
+                    continue; // cancelado
+                }
+            }
+            LocalDate data = evento.agendamento.getData();
+            if (evento.aquecimento) {
+                try {
+                    for (Consumer<AgendamentoPublicacao> aquecedor : aquecedores) {
+                        aquecedor.accept(evento.agendamento);
+                    }
+                } catch (RuntimeException e) {
+                    // Sem aquecimento a publicação só fica mais lenta: não é uma falha do agendamento
+                    System.err.println("Falha ao aquecer os caches de " + data + ": " + e.getMessage());
+                }
+                continue;
+            }
+
+            AgendamentoPublicacao falha = null;
+            try {
+                sistema.definirPublicado(data, evento.agendamento.isPublicar());
+            } catch (RuntimeException e) {
+                // Um agendamento inválido (ex: cardápio vazio) não pode derrubar o relógio
+                System.err.println("Falha no agendamento de " + data + ": " + e.getMessage());
+                falha = evento.agendamento.comFalha(e.getMessage());
+            }
+            synchronized (this) {
+                pendentes.remove(evento.agendamento);
+                if (falha != null) {
+                    falhas.add(falha);
+                }
+            }
+            executouAlgum = true;
+            if (falha != null) {
+                for (Consumer<AgendamentoPublicacao> ouvinte : ouvintesFalha) {
+                    ouvinte.accept(falha);
+                }
+            }
+        }
+
+        if (executouAlgum) {
+            synchronized (this) {
+                try {
+                    gravarArquivo();
+                } catch (IOException e) {
+                    System.err.println("Não foi possível gravar os agendamentos: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // ==================== Persistência ====================
+    // Formato: uma linha por agendamento -> instanteEpochMillis;data;PUBLICAR|DESPUBLICAR
+    // Agendamentos que falharam têm mais dois campos -> ...;FALHOU;motivo
+
+    /**
+     * Lê os agendamentos do arquivo. Linhas inválidas (ex: arquivo editado à mão) são
+     * ignoradas com um aviso, para não impedir a aplicação de iniciar.
+     */
+    private List<AgendamentoPublicacao> lerArquivo() throws IOException {
+        List<AgendamentoPublicacao> agendamentos = new ArrayList<>();
+        if (!Files.exists(arquivo)) {
+            return agendamentos;
+        }
+        List<String> linhas = Files.readAllLines(arquivo, StandardCharsets.UTF_8);
+        for (int i = 0; i < linhas.size(); i++) {
+            String linha = linhas.get(i);
+            if (linha.isBlank()) {
+                continue;
+            }
+            try {
+                agendamentos.add(converterLinha(linha));
+            } catch (RuntimeException e) {
+                System.err.println("Agendamento ignorado (" + arquivo + ", linha " + (i + 1) + "): " + e.getMessage());
+            }
+        }
+        return agendamentos;
+    }
+
+    /**
+     * @throws IllegalArgumentException se a linha não estiver no formato esperado
+     * @throws java.time.format.DateTimeParseException se a data for inválida
+     */
+    private static AgendamentoPublicacao converterLinha(String linha) {
+        String[] campos = linha.trim().split(";", 5);
+        if (campos.length != 3 && (campos.length != 5 || !"FALHOU".equals(campos[3]))) {
+            throw new IllegalArgumentException("esperados 3 campos separados por ';' (ou 5, se falhou)");
+        }
+        if (!"PUBLICAR".equals(campos[2]) && !"DESPUBLICAR".equals(campos[2])) {
+            throw new IllegalArgumentException("ação desconhecida \"" + campos[2] + "\"");
+        }
+        AgendamentoPublicacao agendamento = new AgendamentoPublicacao(
+                LocalDate.parse(campos[1]),
+                "PUBLICAR".equals(campos[2]),
+                Instant.ofEpochMilli(Long.parseLong(campos[0])));
+        return campos.length == 5 ? agendamento.comFalha(campos[4]) : agendamento;
+    }
+
+    /**
+     * Grava os agendamentos pendentes e as falhas em um arquivo temporário e o move sobre o
+     * original, para que uma queda no meio da escrita não deixe o arquivo corrompido.
+     */
+    private void gravarArquivo() throws IOException {
+        StringBuilder conteudo = new StringBuilder();
+        for (AgendamentoPublicacao agendamento : pendentes) {
+            escreverLinha(conteudo, agendamento);
+        }
+        for (AgendamentoPublicacao agendamento : falhas) {
+            escreverLinha(conteudo, agendamento);
+        }
+
+        Path pasta = arquivo.toAbsolutePath().getParent();
+        Files.createDirectories(pasta);
+        Path temporario = Files.createTempFile(pasta, arquivo.getFileName().toString(), ".tmp");
+        Files.writeString(temporario, conteudo, StandardCharsets.UTF_8);
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void escreverLinha(StringBuilder conteudo, AgendamentoPublicacao agendamento) {
+        conteudo.append(agendamento.getInstante().toEpochMilli()).append(';')
+                .append(agendamento.getData()).append(';')
+                .append(agendamento.isPublicar() ? "PUBLICAR" : "DESPUBLICAR");
+        if (agendamento.isFalhou()) {
+            // O motivo é o último campo: só não pode quebrar a linha
+            conteudo.append(";FALHOU;").append(agendamento.getMotivoFalha().replace('\n', ' ').replace('\r', ' '));
+        }
+        conteudo.append('\n');
+    }
+}
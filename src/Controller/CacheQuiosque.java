@@ -0,0 +1,383 @@
+package Controller;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import Model.Alteracao;
+import Model.CardapioDiario;
+import Model.CodecCardapio;
+import Model.ConfiguracoesAplicacao;
+import Model.ResultadoAlteracoes;
+
+/**
+ * Cache local do quiosque dos alunos: guarda em disco os cardápios de uma janela de dias
+ * ao redor de hoje (tamanho em ConfiguracoesAplicacao), para que a tela mostre algo na hora
+ * ao abrir, mesmo com o sistema lento ou recém-reiniciado.
+ *
+ * Só o conteúdo de cardápios publicados é guardado; um dia não publicado fica no cache
+ * como um cardápio vazio e não publicado (assim rascunhos nunca vão para o disco do quiosque).
+ *
+ * A revalidação roda em uma thread própria, ao iniciar, a cada INTERVALO_REVALIDACAO_MS e
+ * quando pedida pela tela. Ela usa o histórico de alterações (obterAlteracoesDesde) para
+ * buscar de novo só os dias alterados desde a última vez; se o cursor não servir mais
+ * (histórico antigo demais ou de outra época, ou seja, o sistema foi reiniciado), a janela
+ * inteira é buscada de novo.
+ * Os ouvintes são avisados, na thread de revalidação, de cada dia cujo conteúdo mudou.
+ *
+ * O arquivo usa o formato binário do CodecCardapio: versão (1 byte), época e cursor (long),
+ * quantidade de dias (int) e, para cada dia, o tamanho (int) seguido do cardápio codificado.
+ */
+public class CacheQuiosque {
+
+    private static final byte VERSAO_ARQUIVO = 2;
+    private static final long INTERVALO_REVALIDACAO_MS = 60_000;
+    /** Folga após o instante pedido em revalidarApos, para a alteração já ter sido aplicada */
+    private static final long MARGEM_REVALIDACAO_MS = 2_000;
+
+    private final ISistemaRU sistema;
+    private final Path arquivo;
+
+    /** Cardápios da janela (protegido por "this") */
+    private final Map<LocalDate, CardapioDiario> cardapios = new HashMap<>();
+    /** Época do histórico a que o cursor pertence (protegido por "this") */
+    private long epoca;
+    /** Última sequência do histórico já refletida no cache (protegido por "this") */
+    private long cursor;
+
+    /** Posição no histórico de alterações: o cursor só vale junto com a sua época */
+    private static class Cursor {
+        final long epoca;
+        final long sequencia;
+
+        Cursor(long epoca, long sequencia) {
+            this.epoca = epoca;
+            this.sequencia = sequencia;
+        }
+    }
+
+    private final List<OuvinteCardapio> ouvintes = new CopyOnWriteArrayList<>();
+
+    /** Única thread que fala com o sistema: revalidações e buscas nunca rodam ao mesmo tempo */
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "cache-quiosque");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * @param sistema sistema de onde os cardápios são lidos (normalmente com controle de admissão)
+     * @param arquivo arquivo onde o cache é gravado
+     */
+    public CacheQuiosque(ISistemaRU sistema, Path arquivo) {
+        this.sistema = Objects.requireNonNull(sistema, "Sistema não pode ser nulo.");
+        this.arquivo = Objects.requireNonNull(arquivo, "Arquivo não pode ser nulo.");
+    }
+
+    /**
+     * Registra um componente para ser avisado quando um dia do cache mudar.
+     * O aviso chega na thread de revalidação.
+     * @param ouvinte componente a ser avisado
+     */
+    public void adicionarOuvinte(OuvinteCardapio ouvinte) {
+        ouvintes.add(Objects.requireNonNull(ouvinte, "Ouvinte não pode ser nulo."));
+    }
+
+    /**
+     * Carrega o arquivo (se existir) e agenda as revalidações periódicas, a primeira imediatamente.
+     * Um arquivo ilegível é ignorado e o cache começa vazio.
+     */
+    public void iniciar() {
+        carregar();
+        executor.scheduleWithFixedDelay(this::revalidar, 0, INTERVALO_REVALIDACAO_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Para a thread de revalidação.
+     */
+    public void parar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Retorna o cardápio guardado no cache, sem acessar o sistema.
+     * @param data data do cardápio
+     * @return cópia do cardápio guardado, ou null se a data não estiver no cache
+     */
+    public synchronized CardapioDiario obter(LocalDate data) {
+        CardapioDiario cardapio = cardapios.get(data);
+        return cardapio == null ? null : cardapio.copiar();
+    }
+
+    /**
+     * Pede uma revalidação em segundo plano (ex: quando a tela volta a ser exibida).
+     */
+    public void revalidarEmSegundoPlano() {
+        executor.execute(this::revalidar);
+    }
+
+    /**
+     * Agenda uma revalidação para logo depois de um instante (ex: o horário de uma publicação
+     * agendada), em vez de esperar a próxima revalidação periódica.
+     * @param instante momento a partir do qual o cache deve ser revalidado
+     */
+    public void revalidarApos(Instant instante) {
+        Objects.requireNonNull(instante, "Instante não pode ser nulo.");
+        long atrasoMs = Math.max(0, instante.toEpochMilli() - System.currentTimeMillis()) + MARGEM_REVALIDACAO_MS;
+        executor.schedule(this::revalidar, atrasoMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Busca o cardápio no sistema em segundo plano (usado para datas fora da janela do cache).
+     * @param data data do cardápio
+     * @return cópia segura do cardápio (vazio e não publicado se a data não estiver publicada);
+     *         completa com SobrecargaException se o sistema recusar a leitura
+     */
+    public CompletableFuture<CardapioDiario> buscar(LocalDate data) {
+        Objects.requireNonNull(data, "Data não pode ser nula.");
+        return CompletableFuture.supplyAsync(() -> {
+            CardapioDiario cardapio = lerDoSistema(data);
+            if (dentroDaJanela(data, LocalDate.now())) {
+                atualizarDia(cardapio);
+            }
+            return cardapio.copiar();
+        }, executor);
+    }
+
+    // ==================== Revalidação ====================
+
+    /**
+     * Executado na thread do cache: descobre quais dias da janela mudaram, busca de novo
+     * esses dias e grava o arquivo se algo mudou.
+     */
+    private void revalidar() {
+        LocalDate hoje = LocalDate.now();
+        int janela = ConfiguracoesAplicacao.getInstancia().getAtual().getJanelaQuiosqueDias();
+        LocalDate inicio = hoje.minusDays(janela);
+        LocalDate fim = hoje.plusDays(janela);
+
+        try {
+            Set<LocalDate> buscar = new TreeSet<>();
+            Cursor novoCursor = lerAlteracoes(inicio, fim, buscar);
+
+            // Dias que entraram na janela (ou que nunca foram buscados) também precisam ser lidos
+            synchronized (this) {
+                for (LocalDate d = inicio; !d.isAfter(fim); d = d.plusDays(1)) {
+                    if (!cardapios.containsKey(d)) {
+                        buscar.add(d);
+                    }
+                }
+            }
+
+            boolean mudou = false;
+            for (LocalDate data : buscar) {
+                mudou |= atualizarDia(lerDoSistema(data));
+            }
+
+            synchronized (this) {
+                epoca = novoCursor.epoca;
+                cursor = novoCursor.sequencia;
+                mudou |= cardapios.keySet().removeIf(data -> !dentroDaJanela(data, hoje));
+            }
+            if (mudou) {
+                gravar();
+            }
+        } catch (SobrecargaException e) {
+            // O cursor não avança: os mesmos dias são buscados na próxima revalidação
+            System.err.println("Cache do quiosque não revalidado (sistema ocupado): " + e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Falha ao revalidar o cache do quiosque: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Percorre o histórico desde o cursor do cache, juntando em "buscar" os dias da janela alterados.
+     * Se o cursor não servir mais, coloca a janela inteira em "buscar".
+     * @return cursor a ser guardado quando os dias forem buscados
+     */
+    private Cursor lerAlteracoes(LocalDate inicio, LocalDate fim, Set<LocalDate> buscar) {
+        long epocaAtual;
+        long atual;
+        synchronized (this) {
+            epocaAtual = epoca;
+            atual = cursor;
+        }
+        boolean janelaInteira = atual == 0;
+
+        while (true) {
+            ResultadoAlteracoes resultado;
+            try {
+                resultado = sistema.obterAlteracoesDesde(epocaAtual, atual, RegistroAlteracoes.LIMITE_MAXIMO);
+            } catch (IllegalArgumentException e) {
+                if (atual == 0) {
+                    throw e;
+                }
+                // Cursor inválido mesmo na época certa: recomeça do início por segurança
+                atual = 0;
+                janelaInteira = true;
+                continue;
+            }
+            epocaAtual = resultado.getEpoca();
+            if (resultado.isRessincronizar()) {
+                atual = resultado.getProximoCursor();
+                janelaInteira = true;
+                break;
+            }
+            if (!janelaInteira) {
+                for (Alteracao alteracao : resultado.getAlteracoes()) {
+                    LocalDate primeiro = alteracao.getData();
+                    LocalDate ultimo = alteracao.getDataFim() == null ? primeiro : alteracao.getDataFim();
+                    for (LocalDate d = max(primeiro, inicio); !d.isAfter(min(ultimo, fim)); d = d.plusDays(1)) {
+                        buscar.add(d);
+                    }
+                }
+            }
+            atual = resultado.getProximoCursor();
+            if (!resultado.isHaMais()) {
+                break;
+            }
+        }
+
+        if (janelaInteira) {
+            for (LocalDate d = inicio; !d.isAfter(fim); d = d.plusDays(1)) {
+                buscar.add(d);
+            }
+        }
+        return new Cursor(epocaAtual, atual);
+    }
+
+    /**
+     * Lê o cardápio do sistema e devolve uma cópia que pode ser guardada:
+     * o cardápio publicado, ou um cardápio vazio e não publicado.
+     */
+    private CardapioDiario lerDoSistema(LocalDate data) {
+        // A cópia é feita pelo sistema dentro do seu lock, então nunca sai pela metade.
+        // Uma alteração feita depois dela tem sequência maior que o cursor guardado e o dia
+        // é buscado de novo na próxima revalidação.
+        CardapioDiario cardapio = sistema.obterCardapioPublicado(data);
+        return cardapio != null ? cardapio : new CardapioDiario(data);
+    }
+
+    /**
+     * Guarda o cardápio e avisa os ouvintes se o conteúdo mudou.
+     * @return true se o conteúdo mudou
+     */
+    private boolean atualizarDia(CardapioDiario novo) {
+        CodecCardapio codec = new CodecCardapio();
+        synchronized (this) {
+            CardapioDiario antigo = cardapios.put(novo.getData(), novo);
+            if (antigo != null && Arrays.equals(codificar(codec, antigo), codificar(codec, novo))) {
+                return false;
+            }
+        }
+        for (OuvinteCardapio ouvinte : ouvintes) {
+            ouvinte.cardapioAlterado(novo.getData());
+        }
+        return true;
+    }
+
+    private boolean dentroDaJanela(LocalDate data, LocalDate hoje) {
+        long janela = ConfiguracoesAplicacao.getInstancia().getAtual().getJanelaQuiosqueDias();
+        return !data.isBefore(hoje.minusDays(janela)) && !data.isAfter(hoje.plusDays(janela));
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    // ==================== Arquivo ====================
+
+    private static byte[] codificar(CodecCardapio codec, CardapioDiario cardapio) {
+        ByteBuffer buffer = ByteBuffer.allocate(CodecCardapio.tamanhoBinario(cardapio));
+        codec.escreverBinario(cardapio, buffer);
+        return buffer.array();
+    }
+
+    private void carregar() {
+        if (!Files.exists(arquivo)) {
+            return;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(arquivo));
+            if (buffer.get() != VERSAO_ARQUIVO) {
+                throw new IllegalArgumentException("versão desconhecida");
+            }
+            long epocaLida = buffer.getLong();
+            long cursorLido = buffer.getLong();
+            int quantidade = buffer.getInt();
+
+            CodecCardapio codec = new CodecCardapio();
+            LocalDate hoje = LocalDate.now();
+            Map<LocalDate, CardapioDiario> lidos = new HashMap<>();
+            for (int i = 0; i < quantidade; i++) {
+                int tamanho = buffer.getInt();
+                ByteBuffer trecho = buffer.slice(buffer.position(), tamanho);
+                buffer.position(buffer.position() + tamanho);
+                CardapioDiario cardapio = codec.lerBinario(trecho);
+                if (dentroDaJanela(cardapio.getData(), hoje)) {
+                    lidos.put(cardapio.getData(), cardapio);
+                }
+            }
+
+            synchronized (this) {
+                cardapios.putAll(lidos);
+                epoca = epocaLida;
+                cursor = cursorLido;
+            }
+        } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException e) {
+            String motivo = e.getMessage() == null ? "arquivo incompleto" : e.getMessage();
+            System.err.println("Cache do quiosque ignorado (" + arquivo + "): " + motivo);
+        }
+    }
+
+    private void gravar() throws IOException {
+        List<byte[]> dias = new ArrayList<>();
+        long epocaGravada;
+        long cursorGravado;
+        CodecCardapio codec = new CodecCardapio();
+        synchronized (this) {
+            for (CardapioDiario cardapio : cardapios.values()) {
+                dias.add(codificar(codec, cardapio));
+            }
+            epocaGravada = epoca;
+            cursorGravado = cursor;
+        }
+
+        int tamanho = 1 + 8 + 8 + 4;
+        for (byte[] dia : dias) {
+            tamanho += 4 + dia.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(tamanho);
+        buffer.put(VERSAO_ARQUIVO).putLong(epocaGravada).putLong(cursorGravado).putInt(dias.size());
+        for (byte[] dia : dias) {
+            buffer.putInt(dia.length).put(dia);
+        }
+
+        Path pasta = arquivo.toAbsolutePath().getParent();
+        Path temporario = Files.createTempFile(pasta, arquivo.getFileName().toString(), ".tmp");
+        Files.write(temporario, buffer.array());
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,202 @@
+package Controller;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import Model.BaldeTokens;
+import Model.Configuracao;
+import Model.ConfiguracoesAplicacao;
+
+/**
+ * Controle de admissão para as leituras dos alunos.
+ * Cada leitura passa, nesta ordem, por:
+ *  - um balde de tokens do cliente (evita que um único cliente monopolize o sistema)
+ *  - um balde de tokens da operação (limite global por endpoint)
+ *  - um limite de leituras simultâneas que se adapta à latência observada:
+ *    cresce de um em um enquanto a latência está perto da mínima e cai 10% quando ela sobe
+ * Sem vaga, a leitura espera um pouco em uma fila limitada; se a fila estiver cheia ou a
+ * espera acabar, é recusada na hora com SobrecargaException e uma sugestão de nova tentativa.
+ *
+ * As operações do administrador não passam por aqui (ver SistemaRUComAdmissao), então sempre
+ * têm capacidade reservada, por maior que seja o pico de leituras: nunca são recusadas nem
+ * esperam na fila, e as leituras que os alunos fazem (cardápio e datas publicados, alterações)
+ * não seguram o lock do ControleRU que as escritas precisam (ver TesteCapacidadeAdministrador).
+ * Os limites vêm de ConfiguracoesAplicacao e são refeitos quando a configuração muda.
+ */
+public class ControleAdmissao {
+
+    /** Quantidade máxima de clientes com balde próprio (os mais antigos são descartados) */
+    private static final int MAXIMO_CLIENTES = 10_000;
+
+    /** Limite mínimo de leituras simultâneas, para o sistema nunca parar de atender */
+    private static final int LIMITE_MINIMO = 4;
+
+    /** Latência acima de TOLERANCIA_LATENCIA vezes a mínima é considerada sinal de sobrecarga */
+    private static final double TOLERANCIA_LATENCIA = 2.0;
+
+    /** Folga absoluta somada à tolerância, para que leituras de microssegundos não oscilem à toa */
+    private static final long FOLGA_LATENCIA_NS = 1_000_000;
+
+    private final Map<String, BaldeTokens> baldesClientes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BaldeTokens> maisAntigo) {
+            return size() > MAXIMO_CLIENTES;
+        }
+    };
+    private final Map<String, BaldeTokens> baldesEndpoints = new HashMap<>();
+
+    // Estado do limitador de concorrência (protegido por "this")
+    private int limite;
+    private int emExecucao;
+    private int naFila;
+    private long latenciaMinimaNs = Long.MAX_VALUE;
+    private double latenciaMediaNs;
+
+    // Métricas
+    private final AtomicLong aceitas = new AtomicLong();
+    private final AtomicLong rejeitadas = new AtomicLong();
+    private final AtomicLong enfileiradas = new AtomicLong();
+
+    public ControleAdmissao() {
+        ConfiguracoesAplicacao configuracoes = ConfiguracoesAplicacao.getInstancia();
+        this.limite = configuracoes.getAtual().getConcorrenciaMaxima();
+        configuracoes.adicionarOuvinte(this::configuracaoAlterada);
+    }
+
+    /**
+     * Executa uma leitura sob o controle de admissão.
+     *
+     * @param idCliente identificação do cliente (ex: terminal, IP)
+     * @param endpoint nome da operação
+     * @param leitura a leitura propriamente dita
+     * @return o resultado da leitura
+     * @throws SobrecargaException se a leitura for recusada
+     */
+    public <T> T executar(String idCliente, String endpoint, Supplier<T> leitura) {
+        Configuracao config = ConfiguracoesAplicacao.getInstancia().getAtual();
+
+        long esperar = balde(baldesClientes, idCliente, config.getRajadaCliente(), config.getTaxaCliente()).tentarConsumir();
+        if (esperar > 0) {
+            rejeitadas.incrementAndGet();
+            throw new SobrecargaException("Muitas requisições deste cliente.", esperar);
+        }
+        esperar = balde(baldesEndpoints, endpoint, config.getTaxaEndpoint(), config.getTaxaEndpoint()).tentarConsumir();
+        if (esperar > 0) {
+            rejeitadas.incrementAndGet();
+            throw new SobrecargaException("Muitas requisições para " + endpoint + ".", esperar);
+        }
+
+        adquirirVaga(config);
+        long inicio = System.nanoTime();
+        try {
+            return leitura.get();
+        } finally {
+            liberarVaga(System.nanoTime() - inicio, config);
+        }
+    }
+
+    /** @return total de leituras aceitas */
+    public long getAceitas() { return aceitas.get(); }
+
+    /** @return total de leituras recusadas */
+    public long getRejeitadas() { return rejeitadas.get(); }
+
+    /** @return total de leituras que precisaram esperar na fila */
+    public long getEnfileiradas() { return enfileiradas.get(); }
+
+    /** @return limite atual de leituras simultâneas */
+    public synchronized int getLimiteConcorrencia() { return limite; }
+
+    /** @return leituras em execução neste momento */
+    public synchronized int getEmExecucao() { return emExecucao; }
+
+    /**
+     * @return resumo das métricas em uma linha, para o log
+     */
+    public String descreverMetricas() {
+        return "aceitas=" + getAceitas() + " rejeitadas=" + getRejeitadas() + " enfileiradas=" + getEnfileiradas()
+                + " limite=" + getLimiteConcorrencia() + " emExecucao=" + getEmExecucao();
+    }
+
+    private BaldeTokens balde(Map<String, BaldeTokens> baldes, String chave, int capacidade, int taxa) {
+        synchronized (baldes) {
+            return baldes.computeIfAbsent(chave, k -> new BaldeTokens(capacidade, taxa));
+        }
+    }
+
+    private synchronized void adquirirVaga(Configuracao config) {
+        if (emExecucao < limite) {
+            emExecucao++;
+            aceitas.incrementAndGet();
+            return;
+        }
+        if (naFila >= config.getTamanhoFila()) {
+            rejeitadas.incrementAndGet();
+            throw new SobrecargaException("Sistema sobrecarregado.", sugestaoEsperaMs());
+        }
+
+        naFila++;
+        enfileiradas.incrementAndGet();
+        try {
+            long prazo = System.nanoTime() + config.getEsperaFilaMs() * 1_000_000;
+            while (emExecucao >= limite) {
+                long restanteMs = (prazo - System.nanoTime()) / 1_000_000;
+                if (restanteMs <= 0) {
+                    rejeitadas.incrementAndGet();
+                    throw new SobrecargaException("Sistema sobrecarregado.", sugestaoEsperaMs());
+                }
+                wait(restanteMs);
+            }
+            emExecucao++;
+            aceitas.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejeitadas.incrementAndGet();
+            throw new SobrecargaException("Espera interrompida.", sugestaoEsperaMs());
+        } finally {
+            naFila--;
+        }
+    }
+
+    private synchronized void liberarVaga(long latenciaNs, Configuracao config) {
+        boolean limiteEmUso = emExecucao >= limite;
+        emExecucao--;
+
+        latenciaMinimaNs = Math.min(latenciaMinimaNs, latenciaNs);
+        latenciaMediaNs = latenciaMediaNs == 0 ? latenciaNs : latenciaMediaNs * 0.9 + latenciaNs * 0.1;
+
+        if (latenciaMediaNs > latenciaMinimaNs * TOLERANCIA_LATENCIA + FOLGA_LATENCIA_NS) {
+            limite = Math.max(LIMITE_MINIMO, (int) (limite * 0.9));
+            // Esquece a mínima aos poucos, para acompanhar mudanças permanentes de carga
+            latenciaMinimaNs += (long) ((latenciaMediaNs - latenciaMinimaNs) * 0.05);
+        } else if (limiteEmUso) {
+            limite = Math.min(config.getConcorrenciaMaxima(), limite + 1);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Sugere quanto esperar antes de uma nova tentativa: o tempo para a fila atual
+     * ser atendida, considerando a latência média.
+     */
+    private long sugestaoEsperaMs() {
+        double filas = (double) (naFila + 1) / Math.max(1, limite);
+        return Math.max(1, (long) Math.ceil(filas * latenciaMediaNs / 1_000_000));
+    }
+
+    private void configuracaoAlterada(Configuracao nova) {
+        synchronized (baldesClientes) {
+            baldesClientes.clear();
+        }
+        synchronized (baldesEndpoints) {
+            baldesEndpoints.clear();
+        }
+        synchronized (this) {
+            limite = Math.min(limite, nova.getConcorrenciaMaxima());
+            notifyAll();
+        }
+    }
+}
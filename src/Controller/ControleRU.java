@@ -1,9 +1,17 @@
 package Controller;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import Model.CardapioDiario;
 import Model.ItemCardapio;
@@ -12,6 +20,15 @@ import Model.RepositorioCardapio;
 import Model.MemoriaRepositorioCardapio;
 import Model.ConfiguracoesAplicacao;
 import Model.TipoPrato;
+import Model.ModeloCardapio;
+import Model.AplicacaoModelo;
+import Model.EntradaModelo;
+import Model.Alteracao;
+import Model.ResultadoAlteracoes;
+import Model.TipoAlteracao;
+import Model.IndicePratos;
+import Model.IndiceBitmapPratos;
+import Model.CriterioPratos;
 
 /**
  * Controlador principal do sistema de gerenciamento do RU (Restaurante Universitário).*
@@ -21,6 +38,12 @@ import Model.TipoPrato;
  *  - Adição, edição, movimentação e remoção de itens do cardápio
  *  - Controle de publicação de cardápios
  *  - Acesso a configuração da aplicação
+ *
+ * Os métodos públicos são sincronizados, pois além da thread do JavaFX o sistema
+ * também é acessado por tarefas em segundo plano (ex: AgendadorPublicacao).
+ * As exceções são as leituras feitas pelos alunos (obterCardapioPublicado, listarDatasPublicadas
+ * e obterAlteracoesDesde), que usam estruturas com sincronização própria e nunca seguram o
+ * lock do controlador: assim um pico de leituras não atrasa as escritas do administrador.
  */
 public class ControleRU implements ISistemaRU {
 
@@ -37,6 +60,44 @@ public class ControleRU implements ISistemaRU {
      */
     private static long proximoId = 1;
 
+    /**
+     * Modelos de cardápio aplicados a intervalos de datas, na ordem em que foram aplicados.
+     * Quando dois intervalos se sobrepõem, a aplicação mais recente prevalece.
+     */
+    private final List<AplicacaoModelo> modelos = new ArrayList<>();
+
+    /**
+     * Dias materializados a partir de um modelo só por terem sido lidos, sem nenhuma alteração
+     * desde então. Eles continuam seguindo os modelos: se outro modelo for aplicado sobre eles,
+     * são descartados e materializados de novo a partir do modelo novo.
+     */
+    private final Set<LocalDate> materializadosIntactos = new HashSet<>();
+
+    /**
+     * Índice ID do item -> data do cardápio onde ele está.
+     * Permite encontrar o cardápio de um item em O(1), sem percorrer todos os cardápios.
+     */
+    private final Map<Long, LocalDate> indiceItens = new HashMap<>();
+
+    /** Índice dos nomes de pratos já usados, para sugestões de autocompletar */
+    private final IndicePratos indicePratos = new IndicePratos();
+
+    /** Índice em bitmaps dos tipos de prato de cada dia, para buscas por dieta */
+    private final IndiceBitmapPratos indiceBitmap = new IndiceBitmapPratos();
+
+    /** Histórico das alterações recentes, com número de sequência, para sincronização incremental */
+    private final RegistroAlteracoes alteracoes = new RegistroAlteracoes();
+
+    /**
+     * Cópias dos cardápios publicados, ordenadas por data. São refeitas dentro do lock a cada
+     * alteração de um dia e nunca são modificadas depois de guardadas, então podem ser lidas
+     * (e copiadas) sem o lock do controlador.
+     */
+    private final ConcurrentSkipListMap<LocalDate, CardapioDiario> publicados = new ConcurrentSkipListMap<>();
+
+    /** Componentes avisados a cada alteração de cardápio (ex: ExportadorEstatico) */
+    private final List<OuvinteCardapio> ouvintes = new CopyOnWriteArrayList<>();
+
     /**
      * Construtor padrão que inicializa o controlador com implementações concretas.
      * Cria uma nova instância de MemoriaRepositorioCardapio e obtém a instância
@@ -45,6 +106,9 @@ public class ControleRU implements ISistemaRU {
     public ControleRU() {
         this.repositorio = new MemoriaRepositorioCardapio();
         ConfiguracoesAplicacao config = ConfiguracoesAplicacao.getInstancia();
+        for (CardapioDiario cardapio : repositorio.listar()) {
+            atualizarPublicado(cardapio.getData());
+        }
     }
 
     /**
@@ -60,37 +124,86 @@ public class ControleRU implements ISistemaRU {
         return proximoId++;
     }
 
+    /**
+     * Reserva um bloco de IDs consecutivos de uma só vez (usado nas operações em lote).
+     *
+     * @param quantidade quantidade de IDs necessários
+     * @return o primeiro ID do bloco; os demais são os seguintes em sequência
+     */
+    private static synchronized long reservarIds(int quantidade) {
+        long primeiro = proximoId;
+        proximoId += quantidade;
+        return primeiro;
+    }
+
+    /**
+     * Registra um componente para ser avisado sempre que um cardápio for alterado.
+     *
+     * @param ouvinte componente a ser avisado
+     * @throws NullPointerException se ouvinte for nulo
+     */
+    public void adicionarOuvinte(OuvinteCardapio ouvinte) {
+        ouvintes.add(Objects.requireNonNull(ouvinte, "Ouvinte não pode ser nulo."));
+    }
+
     /**
      * Lista todas as datas para as quais existem cardápios cadastrados no sistema.
      *
      * @return lista de datas com cardápios disponíveis, ordenadas cronologicamente
      */
     @Override
-    public List<LocalDate> listarDatasDisponiveis() {
-        List<LocalDate> datas = new ArrayList<>();
+    public synchronized List<LocalDate> listarDatasDisponiveis() {
+        // O TreeSet já mantém as datas em ordem cronológica e sem repetição
+        Set<LocalDate> datas = new TreeSet<>();
 
         // Itera sobre todos os cardápios e coleta suas datas
         for (CardapioDiario cardapio : repositorio.listar()) {
             datas.add(cardapio.getData());
         }
 
-        // Ordena as datas em ordem cronológica
-        datas.sort(LocalDate::compareTo);
+        // Inclui os dias cobertos por modelos que ainda não foram materializados
+        for (AplicacaoModelo aplicacao : modelos) {
+            for (LocalDate d = aplicacao.getInicio(); !d.isAfter(aplicacao.getFim()); d = d.plusDays(1)) {
+                if (!repositorio.contem(d) && buscarModeloParaData(d) == aplicacao
+                        && !aplicacao.getModelo().entradasPara(aplicacao.getInicio(), d).isEmpty()) {
+                    datas.add(d);
+                }
+            }
+        }
 
-        return datas;
+        return new ArrayList<>(datas);
     }
 
     /**
      * Obtém o cardápio completo de uma data específica.
      *
+     * Ler uma data sem cardápio e sem modelo não cria nada: o cardápio vazio devolvido
+     * só é armazenado se for alterado.
+     *
      * @param data data do cardápio desejado
      * @return cardápio da data especificada, ou um cardápio vazio se não existir
      * @throws NullPointerException se data for nula
      */
     @Override
-    public CardapioDiario obterCardapio(LocalDate data) {
+    public synchronized CardapioDiario obterCardapio(LocalDate data) {
         Objects.requireNonNull(data, "Data não pode ser nula.");
-        return repositorio.obter(data);
+        return obterOuMaterializar(data);
+    }
+
+    /**
+     * Obtém uma cópia do cardápio publicado de uma data, para quem lê fora da thread do
+     * administrador (ex: CacheQuiosque, ServidorCardapio). A cópia é feita a partir da
+     * fotografia dos publicados, sem o lock do controlador. Não cria nem materializa dias.
+     *
+     * @param data data do cardápio desejado
+     * @return cópia do cardápio, ou null se a data não tiver cardápio publicado
+     * @throws NullPointerException se data for nula
+     */
+    @Override
+    public CardapioDiario obterCardapioPublicado(LocalDate data) {
+        Objects.requireNonNull(data, "Data não pode ser nula.");
+        CardapioDiario cardapio = publicados.get(data);
+        return cardapio == null ? null : cardapio.copiar();
     }
 
     /**
@@ -104,26 +217,33 @@ public class ControleRU implements ISistemaRU {
      * @param tipo tipo da refeição (ALMOCO ou JANTAR)
      * @param nome nome/descrição do item
      * @param tipoPrato categoria do prato (ex: Principal, Salada)
+     * @throws IllegalArgumentException se a refeição já tiver um prato com o mesmo nome
      * @throws NullPointerException se qualquer parâmetro for nulo
      */
 
     @Override
-    public void adicionarItem(LocalDate data, TipoRefeicao tipo, String nome, TipoPrato tipoPrato) {
+    public synchronized void adicionarItem(LocalDate data, TipoRefeicao tipo, String nome, TipoPrato tipoPrato) {
         Objects.requireNonNull(data, "Data não pode ser nula.");
         Objects.requireNonNull(tipo, "Tipo não pode ser nulo.");
         Objects.requireNonNull(nome, "Nome não pode ser nulo.");
         Objects.requireNonNull(tipoPrato, "Tipo de prato não pode ser nulo."); // Nova verificação
 
-        // Obtém o cardápio da data (cria se não existir)
-        CardapioDiario cardapio = repositorio.obter(data);
+        // Obtém o cardápio da data (cria ou materializa o modelo se não existir)
+        CardapioDiario cardapio = obterOuMaterializar(data);
+        confirmarMaterializado(data);
 
         // Gera um ID único e cria o novo item
         long novoId = gerarNovoId();
         ItemCardapio novoItem = new ItemCardapio(novoId, tipo, nome, tipoPrato);
         cardapio.addItem(novoItem);
+        indiceItens.put(novoId, data);
+        indicePratos.adicionar(nome, tipoPrato, data);
 
         // Persiste as alterações
         repositorio.salvar(cardapio);
+        indiceBitmap.atualizar(cardapio);
+        alteracoes.registrar(seq -> Alteracao.itemAdicionado(seq, data, novoItem));
+        notificarOuvintes(data);
     }
 
     /**
@@ -131,9 +251,67 @@ public class ControleRU implements ISistemaRU {
      *
      * @param idItem ID único do item a ser editado
      * @param novoNome novo nome para o item
-     * @throws IllegalArgumentException se o item não for encontrado
+     * @throws IllegalArgumentException se o item não for encontrado ou se a refeição já tiver um prato com o novo nome
      * @throws NullPointerException se novoNome for nulo
      */
+    @Override
+    public synchronized void renomearItem(long idItem, String novoNome) {
+        Objects.requireNonNull(novoNome, "Nome não pode ser nulo.");
+        CardapioDiario cardapio = buscarCardapioObrigatorio(idItem);
+        ItemCardapio item = cardapio.getItem(idItem);
+        String nomeAntigo = item.getNome();
+
+        confirmarMaterializado(cardapio.getData());
+        cardapio.renomearItem(idItem, novoNome);
+        indicePratos.remover(nomeAntigo, item.getTipoPrato());
+        indicePratos.adicionar(novoNome, item.getTipoPrato(), cardapio.getData());
+
+        repositorio.salvar(cardapio);
+        alteracoes.registrar(seq -> Alteracao.itemRenomeado(seq, cardapio.getData(), idItem, novoNome));
+        notificarOuvintes(cardapio.getData());
+    }
+
+    /**
+     * Move um item para outra refeição do mesmo dia (ex: do almoço para o jantar).
+     * O item vai para o fim da lista da refeição de destino.
+     *
+     * @param idItem ID único do item a ser movido
+     * @param destino refeição de destino
+     * @throws IllegalArgumentException se o item não for encontrado ou se o destino já tiver um prato com o mesmo nome
+     * @throws NullPointerException se destino for nulo
+     */
+    @Override
+    public synchronized void moverItem(long idItem, TipoRefeicao destino) {
+        Objects.requireNonNull(destino, "Tipo não pode ser nulo.");
+        CardapioDiario cardapio = buscarCardapioObrigatorio(idItem);
+
+        confirmarMaterializado(cardapio.getData());
+        cardapio.moverItem(idItem, destino);
+
+        repositorio.salvar(cardapio);
+        indiceBitmap.atualizar(cardapio);
+        alteracoes.registrar(seq -> Alteracao.itemMovido(seq, cardapio.getData(), idItem, destino));
+        notificarOuvintes(cardapio.getData());
+    }
+
+    /**
+     * Muda a posição de um item dentro da sua refeição.
+     *
+     * @param idItem ID único do item a ser reposicionado
+     * @param idItemSeguinte ID do item (da mesma refeição) que ficará logo depois dele, ou null para mover para o fim
+     * @throws IllegalArgumentException se algum item não for encontrado ou se forem de refeições diferentes
+     */
+    @Override
+    public synchronized void reordenarItem(long idItem, Long idItemSeguinte) {
+        CardapioDiario cardapio = buscarCardapioObrigatorio(idItem);
+
+        confirmarMaterializado(cardapio.getData());
+        cardapio.reordenarItem(idItem, idItemSeguinte);
+
+        repositorio.salvar(cardapio);
+        alteracoes.registrar(seq -> Alteracao.itemReordenado(seq, cardapio.getData(), idItem, idItemSeguinte));
+        notificarOuvintes(cardapio.getData());
+    }
 
     /**
      * Remove permanentemente um item do cardápio.
@@ -142,19 +320,21 @@ public class ControleRU implements ISistemaRU {
      * @throws IllegalArgumentException se o item não for encontrado
      */
     @Override
-    public void removerItem(long idItem) {
+    public synchronized void removerItem(long idItem) {
         // Busca o cardápio que contém o item
-        CardapioDiario cardapio = buscarCardapioPorItemId(idItem);
-
-        if (cardapio == null) {
-            throw new IllegalArgumentException("Item com ID " + idItem + " não encontrado!");
-        }
+        CardapioDiario cardapio = buscarCardapioObrigatorio(idItem);
 
         // Remove o item
-        cardapio.removeItem(idItem);
+        confirmarMaterializado(cardapio.getData());
+        ItemCardapio removido = cardapio.removeItem(idItem);
+        indiceItens.remove(idItem);
+        indicePratos.remover(removido.getNome(), removido.getTipoPrato());
 
         // Persiste as alterações
         repositorio.salvar(cardapio);
+        indiceBitmap.atualizar(cardapio);
+        alteracoes.registrar(seq -> Alteracao.itemRemovido(seq, cardapio.getData(), idItem));
+        notificarOuvintes(cardapio.getData());
     }
 
     /**
@@ -167,23 +347,490 @@ public class ControleRU implements ISistemaRU {
      * @throws NullPointerException se data for nula
      */
     @Override
-    public void definirPublicado(LocalDate data, boolean publicado) {
+    public synchronized void definirPublicado(LocalDate data, boolean publicado) {
         Objects.requireNonNull(data, "Data não pode ser nula");
 
-        CardapioDiario cardapio = repositorio.obter(data);
+        CardapioDiario cardapio = obterOuMaterializar(data);
 
         // Verifica se o cardápio tem itens antes de publicar
-        if (publicado && cardapio.getItensAlmoco().isEmpty() && cardapio.getItensJantar().isEmpty()) {
+        if (publicado && cardapio.isVazio()) {
             throw new IllegalArgumentException("Não é possível publicar um cardápio vazio!");
         }
 
+        confirmarMaterializado(data);
         cardapio.setPublicado(publicado);
         repositorio.salvar(cardapio);
+        indiceBitmap.atualizar(cardapio);
+        alteracoes.registrar(seq -> Alteracao.publicacao(seq, data, publicado));
+        notificarOuvintes(data);
+    }
+
+    /**
+     * Aplica um modelo de cardápio (rodízio semanal ou cíclico) a um intervalo de datas.
+     * Nenhum cardápio é criado neste momento: cada dia é materializado somente quando
+     * for lido ou alterado pela primeira vez. Dias que já foram alterados não mudam; dias
+     * que só foram lidos voltam a ser materializados, agora pelo modelo novo.
+     * É guardada uma cópia do modelo: alterá-lo depois não muda os dias planejados.
+     *
+     * @param modelo modelo de cardápio a ser aplicado
+     * @param inicio primeira data do intervalo (inclusive)
+     * @param fim última data do intervalo (inclusive)
+     * @throws IllegalArgumentException se fim for anterior a inicio
+     * @throws NullPointerException se qualquer parâmetro for nulo
+     */
+    @Override
+    public synchronized void aplicarModelo(ModeloCardapio modelo, LocalDate inicio, LocalDate fim) {
+        Objects.requireNonNull(modelo, "Modelo não pode ser nulo.");
+        Objects.requireNonNull(inicio, "Data de início não pode ser nula.");
+        Objects.requireNonNull(fim, "Data de fim não pode ser nula.");
+
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("A data final não pode ser anterior à data inicial!");
+        }
+
+        ModeloCardapio copia = modelo.copiar();
+        modelos.add(new AplicacaoModelo(copia, inicio, fim));
+
+        // Dias só lidos deixam de existir, para serem materializados de novo pelo modelo novo
+        List<LocalDate> descartados = new ArrayList<>();
+        for (LocalDate d = inicio; !d.isAfter(fim); d = d.plusDays(1)) {
+            if (materializadosIntactos.contains(d)) {
+                removerDosIndices(repositorio.obter(d));
+                materializadosIntactos.remove(d);
+                descartados.add(d);
+            }
+        }
+        repositorio.aplicarLote(List.of(), descartados);
+
+        // Os dias ainda sem cardápio passam a seguir este modelo: indexa pelas entradas dele
+        for (LocalDate d = inicio; !d.isAfter(fim); d = d.plusDays(1)) {
+            if (!repositorio.contem(d)) {
+                indiceBitmap.atualizar(d, copia.entradasPara(inicio, d));
+            }
+        }
+        alteracoes.registrar(seq -> Alteracao.intervalo(seq, TipoAlteracao.MODELO_APLICADO, inicio, fim));
+        for (LocalDate data : descartados) {
+            notificarOuvintes(data);
+        }
+    }
+
+    /**
+     * Copia os cardápios do intervalo [inicio, fim] para o intervalo de mesmo tamanho que começa em destino
+     * (ex: copiar a semana passada para a próxima). Os dias de destino são substituídos por inteiro,
+     * as cópias ficam como rascunho (não publicadas) e recebem novos IDs.
+     * A operação é atômica: todas as cópias são montadas antes e aplicadas ao repositório em um único passo.
+     *
+     * @param inicio primeira data de origem (inclusive)
+     * @param fim última data de origem (inclusive)
+     * @param destino data que receberá o cardápio de inicio
+     * @throws IllegalArgumentException se fim for anterior a inicio ou se origem e destino se sobrepuserem
+     * @throws NullPointerException se qualquer parâmetro for nulo
+     */
+    @Override
+    public synchronized void copiarPeriodo(LocalDate inicio, LocalDate fim, LocalDate destino) {
+        int dias = validarPeriodo(inicio, fim);
+        Objects.requireNonNull(destino, "Data de destino não pode ser nula.");
+        if (!destino.isAfter(fim) && !destino.plusDays(dias - 1).isBefore(inicio)) {
+            throw new IllegalArgumentException("O período de destino não pode se sobrepor ao de origem!");
+        }
+
+        List<CardapioDiario> origens = lerPeriodo(inicio, dias);
+
+        // Reserva todos os IDs de uma vez e calcula onde começa o bloco de cada dia
+        int[] deslocamentoIds = new int[dias];
+        int totalItens = 0;
+        for (int i = 0; i < dias; i++) {
+            deslocamentoIds[i] = totalItens;
+            totalItens += origens.get(i) == null ? 0 : origens.get(i).getQuantidadeItens();
+        }
+        long primeiroId = reservarIds(totalItens);
+
+        // Cada dia usa só o seu bloco de IDs
+        Map<LocalDate, CardapioDiario> novos = new HashMap<>();
+        for (int i = 0; i < dias; i++) {
+            CardapioDiario origem = origens.get(i);
+            novos.put(destino.plusDays(i),
+                    origem == null ? null : copiarCardapio(origem, destino.plusDays(i), primeiroId + deslocamentoIds[i], false));
+        }
+        aplicarPeriodo(novos, destino, destino.plusDays(dias - 1));
+    }
+
+    /**
+     * Desloca os cardápios do intervalo [inicio, fim] em uma quantidade de dias (positiva ou negativa),
+     * mantendo itens, IDs e status de publicação. Os dias de destino são substituídos e os dias
+     * de origem que ficarem vagos passam a não ter cardápio.
+     * A operação é atômica e aplicada ao repositório em um único passo.
+     *
+     * @param inicio primeira data do intervalo (inclusive)
+     * @param fim última data do intervalo (inclusive)
+     * @param dias quantidade de dias do deslocamento (negativo = para trás)
+     * @throws IllegalArgumentException se fim for anterior a inicio
+     * @throws NullPointerException se inicio ou fim forem nulos
+     */
+    @Override
+    public synchronized void deslocarPeriodo(LocalDate inicio, LocalDate fim, int dias) {
+        int quantidade = validarPeriodo(inicio, fim);
+        if (dias == 0) {
+            return;
+        }
+
+        List<CardapioDiario> origens = lerPeriodo(inicio, quantidade);
+
+        // Primeiro esvazia a origem, depois ocupa o destino (que pode se sobrepor à origem)
+        Map<LocalDate, CardapioDiario> novos = new HashMap<>();
+        for (int i = 0; i < quantidade; i++) {
+            novos.put(inicio.plusDays(i), null);
+        }
+        for (int i = 0; i < quantidade; i++) {
+            CardapioDiario origem = origens.get(i);
+            novos.put(inicio.plusDays(i + (long) dias),
+                    origem == null ? null : copiarCardapio(origem, origem.getData().plusDays(dias), 0, true));
+        }
+
+        LocalDate primeiroAfetado = dias < 0 ? inicio.plusDays(dias) : inicio;
+        LocalDate ultimoAfetado = dias > 0 ? fim.plusDays(dias) : fim;
+        aplicarPeriodo(novos, primeiroAfetado, ultimoAfetado);
+    }
+
+    /**
+     * Remove os cardápios de todos os dias do intervalo [inicio, fim] (ex: recesso ou feriado prolongado).
+     * Dias cobertos por modelos ficam vazios, para que o modelo não volte a preenchê-los.
+     *
+     * @param inicio primeira data do intervalo (inclusive)
+     * @param fim última data do intervalo (inclusive)
+     * @throws IllegalArgumentException se fim for anterior a inicio
+     * @throws NullPointerException se qualquer parâmetro for nulo
+     */
+    @Override
+    public synchronized void limparPeriodo(LocalDate inicio, LocalDate fim) {
+        int dias = validarPeriodo(inicio, fim);
+
+        Map<LocalDate, CardapioDiario> novos = new HashMap<>();
+        for (int i = 0; i < dias; i++) {
+            novos.put(inicio.plusDays(i), null);
+        }
+        aplicarPeriodo(novos, inicio, fim);
+    }
+
+    /**
+     * Retorna as alterações feitas depois do cursor informado, para que o cliente
+     * transfira só o que mudou em vez de recarregar cardápios inteiros.
+     * Para começar, o cliente usa o cursor 0 (ou, após carregar os cardápios, o proximoCursor
+     * de uma consulta feita ANTES do carregamento) e depois sempre o proximoCursor recebido,
+     * junto com a época da resposta: as sequências recomeçam a cada execução do sistema, e um
+     * cursor de outra época recebe o sinal de ressincronizar.
+     *
+     * @param epoca época da resposta em que o cursor foi recebido (ignorada com o cursor 0)
+     * @param cursor última sequência já recebida pelo cliente
+     * @param limite quantidade máxima de alterações no lote (no máximo RegistroAlteracoes.LIMITE_MAXIMO)
+     * @return lote de alterações, ou o sinal de ressincronizar se o cursor for antigo demais ou de outra época
+     * @throws IllegalArgumentException se o cursor ou o limite forem inválidos
+     */
+    @Override
+    public ResultadoAlteracoes obterAlteracoesDesde(long epoca, long cursor, int limite) {
+        // O registro tem sincronização própria: consultar não disputa o lock do controlador
+        return alteracoes.desde(epoca, cursor, limite);
+    }
+
+    /**
+     * Sugere nomes de pratos já usados em cardápios que começam com o prefixo digitado,
+     * ordenados por frequência de uso e recência.
+     *
+     * @param prefixo início do nome (comparado sem acentos e sem diferenciar maiúsculas)
+     * @param tipoPrato tipo do prato, ou null para sugerir de todos os tipos
+     * @param limite quantidade máxima de sugestões (no máximo IndicePratos.MAXIMO_SUGESTOES)
+     * @return nomes sugeridos, do mais para o menos relevante
+     * @throws NullPointerException se prefixo for nulo
+     */
+    @Override
+    public List<String> sugerirPratos(String prefixo, TipoPrato tipoPrato, int limite) {
+        Objects.requireNonNull(prefixo, "Prefixo não pode ser nulo.");
+        // O índice tem sincronização própria: consultar a cada tecla não disputa o lock do controlador
+        return indicePratos.sugerir(prefixo, tipoPrato, limite);
+    }
+
+    /**
+     * Lista os dias do intervalo que atendem a um critério sobre os tipos de prato servidos
+     * (ex: dias com jantar vegetariano), sem carregar os cardápios.
+     * Dias de modelos ainda não materializados também entram; para mostrar aos alunos,
+     * combine o critério com CriterioPratos.publicado().
+     *
+     * @param criterio critério de busca
+     * @param inicio primeira data do intervalo (inclusive)
+     * @param fim última data do intervalo (inclusive)
+     * @return datas encontradas, em ordem cronológica
+     * @throws IllegalArgumentException se fim for anterior a inicio ou inicio for anterior a IndiceBitmapPratos.PRIMEIRA_DATA
+     * @throws NullPointerException se qualquer parâmetro for nulo
+     */
+    @Override
+    public List<LocalDate> buscarDias(CriterioPratos criterio, LocalDate inicio, LocalDate fim) {
+        // O índice tem sincronização própria: consultar não disputa o lock do controlador
+        return indiceBitmap.consultar(criterio, inicio, fim);
+    }
+
+
+    /**
+     * Retorna uma cópia do cardápio já armazenado para a data, sem criar nem materializar dias.
+     * Usado por tarefas em segundo plano, que não podem ler o objeto enquanto ele é alterado.
+     *
+     * @param data data do cardápio
+     * @return cópia do cardápio ou null se a data não tiver cardápio armazenado
+     */
+    synchronized CardapioDiario obterCopia(LocalDate data) {
+        return repositorio.contem(data) ? repositorio.obter(data).copiar() : null;
+    }
+
+    /**
+     * Lista as datas que já possuem cardápio armazenado (dias de modelos ainda não
+     * materializados não entram, pois nunca estão publicados).
+     *
+     * @return datas armazenadas, sem ordem definida
+     */
+    synchronized List<LocalDate> listarDatasArmazenadas() {
+        List<LocalDate> datas = new ArrayList<>();
+        for (CardapioDiario cardapio : repositorio.listar()) {
+            datas.add(cardapio.getData());
+        }
+        return datas;
+    }
+
+    /**
+     * Lista as datas cujo cardápio armazenado está publicado (o que os alunos podem ver).
+     * Lê a fotografia dos publicados, sem o lock do controlador.
+     *
+     * @return datas publicadas, em ordem cronológica
+     */
+    List<LocalDate> listarDatasPublicadas() {
+        return new ArrayList<>(publicados.keySet());
     }
 
 
     // ==================== Métodos Auxiliares Privados ====================
 
+    /**
+     * Valida um intervalo de datas.
+     *
+     * @return quantidade de dias do intervalo
+     */
+    private int validarPeriodo(LocalDate inicio, LocalDate fim) {
+        Objects.requireNonNull(inicio, "Data de início não pode ser nula.");
+        Objects.requireNonNull(fim, "Data de fim não pode ser nula.");
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("A data final não pode ser anterior à data inicial!");
+        }
+        return Math.toIntExact(ChronoUnit.DAYS.between(inicio, fim) + 1);
+    }
+
+    /**
+     * Lê os cardápios de um intervalo, materializando os dias de modelos.
+     * Dias sem cardápio e sem modelo viram null (não são criados).
+     */
+    private List<CardapioDiario> lerPeriodo(LocalDate inicio, int dias) {
+        List<CardapioDiario> cardapios = new ArrayList<>(dias);
+        for (int i = 0; i < dias; i++) {
+            LocalDate data = inicio.plusDays(i);
+            boolean existe = repositorio.contem(data) || buscarModeloParaData(data) != null;
+            cardapios.add(existe ? obterOuMaterializar(data) : null);
+        }
+        return cardapios;
+    }
+
+    /**
+     * Cria uma cópia de um cardápio em outra data.
+     *
+     * @param manterIds true para manter IDs e publicação (deslocamento); false para usar novos IDs
+     *                  a partir de primeiroId e deixar a cópia como rascunho
+     */
+    private static CardapioDiario copiarCardapio(CardapioDiario origem, LocalDate data, long primeiroId, boolean manterIds) {
+        CardapioDiario copia = new CardapioDiario(data);
+        long id = primeiroId;
+        for (TipoRefeicao tipo : TipoRefeicao.values()) {
+            for (ItemCardapio item : origem.getItens(tipo).listar()) {
+                long novoId = manterIds ? item.getId() : id++;
+                copia.addItem(new ItemCardapio(novoId, tipo, item.getNome(), item.getTipoPrato()));
+            }
+        }
+        if (manterIds) {
+            copia.setPublicado(origem.isPublicado());
+        }
+        return copia;
+    }
+
+    /**
+     * Aplica o resultado de uma operação em intervalo em um único passo no repositório,
+     * atualizando o índice de itens, o histórico de alterações e os ouvintes.
+     *
+     * @param novos novo cardápio de cada data afetada (null = a data fica sem cardápio)
+     * @param primeiroAfetado primeira data do intervalo afetado (para o histórico)
+     * @param ultimoAfetado última data do intervalo afetado (para o histórico)
+     */
+    private void aplicarPeriodo(Map<LocalDate, CardapioDiario> novos, LocalDate primeiroAfetado, LocalDate ultimoAfetado) {
+        List<CardapioDiario> salvar = new ArrayList<>();
+        List<LocalDate> remover = new ArrayList<>();
+
+        for (Map.Entry<LocalDate, CardapioDiario> entrada : novos.entrySet()) {
+            LocalDate data = entrada.getKey();
+            CardapioDiario cardapio = entrada.getValue();
+            if (cardapio == null && buscarModeloParaData(data) != null) {
+                // Um dia vazio armazenado impede que o modelo o materialize de novo
+                cardapio = new CardapioDiario(data);
+            }
+            if (cardapio == null) {
+                remover.add(data);
+            } else {
+                salvar.add(cardapio);
+            }
+        }
+
+        // Os itens dos cardápios substituídos saem dos índices antes de os novos entrarem
+        for (LocalDate data : novos.keySet()) {
+            if (repositorio.contem(data)) {
+                removerDosIndices(repositorio.obter(data));
+            }
+            materializadosIntactos.remove(data);
+        }
+        for (CardapioDiario cardapio : salvar) {
+            for (TipoRefeicao tipo : TipoRefeicao.values()) {
+                for (ItemCardapio item : cardapio.getItens(tipo).listar()) {
+                    indiceItens.put(item.getId(), cardapio.getData());
+                    indicePratos.adicionar(item.getNome(), item.getTipoPrato(), cardapio.getData());
+                }
+            }
+        }
+
+        repositorio.aplicarLote(salvar, remover);
+        for (CardapioDiario cardapio : salvar) {
+            indiceBitmap.atualizar(cardapio);
+        }
+        for (LocalDate data : remover) {
+            indiceBitmap.remover(data);
+        }
+        alteracoes.registrar(seq -> Alteracao.intervalo(seq, TipoAlteracao.PERIODO_ALTERADO, primeiroAfetado, ultimoAfetado));
+        for (LocalDate data : novos.keySet()) {
+            notificarOuvintes(data);
+        }
+    }
+
+    /**
+     * Tira os itens de um cardápio que vai deixar de existir dos índices de itens e de pratos.
+     * Deve ser chamado antes de o dia sair de materializadosIntactos: os itens de um dia
+     * materializado só por leitura nunca entraram no índice de pratos.
+     *
+     * @param antigo cardápio armazenado que será substituído ou removido
+     */
+    private void removerDosIndices(CardapioDiario antigo) {
+        boolean contado = !materializadosIntactos.contains(antigo.getData());
+        for (TipoRefeicao tipo : TipoRefeicao.values()) {
+            for (ItemCardapio item : antigo.getItens(tipo).listar()) {
+                indiceItens.remove(item.getId());
+                if (contado) {
+                    indicePratos.remover(item.getNome(), item.getTipoPrato());
+                }
+            }
+        }
+    }
+
+    /**
+     * Chamado por toda escrita antes de alterar um dia. Um dia materializado só por leitura
+     * passa a ser um cardápio comum, e só agora os seus itens entram no índice de pratos
+     * (ler um dia não deve contar como uso dos pratos no autocompletar).
+     *
+     * @param data data do cardápio que será alterado
+     */
+    private void confirmarMaterializado(LocalDate data) {
+        if (!materializadosIntactos.remove(data)) {
+            return;
+        }
+        CardapioDiario cardapio = repositorio.obter(data);
+        for (TipoRefeicao tipo : TipoRefeicao.values()) {
+            for (ItemCardapio item : cardapio.getItens(tipo).listar()) {
+                indicePratos.adicionar(item.getNome(), item.getTipoPrato(), data);
+            }
+        }
+    }
+
+    /**
+     * Atualiza a fotografia dos publicados e avisa os ouvintes registrados que o cardápio
+     * da data foi alterado. Toda escrita passa por aqui, ainda dentro do lock.
+     *
+     * @param data data do cardápio alterado
+     */
+    private void notificarOuvintes(LocalDate data) {
+        atualizarPublicado(data);
+        for (OuvinteCardapio ouvinte : ouvintes) {
+            ouvinte.cardapioAlterado(data);
+        }
+    }
+
+    /**
+     * Guarda uma cópia do cardápio da data entre os publicados, ou o tira de lá se ele
+     * não estiver (mais) publicado.
+     *
+     * @param data data do cardápio
+     */
+    private void atualizarPublicado(LocalDate data) {
+        if (repositorio.contem(data) && repositorio.obter(data).isPublicado()) {
+            publicados.put(data, repositorio.obter(data).copiar());
+        } else {
+            publicados.remove(data);
+        }
+    }
+
+    /**
+     * Obtém o cardápio de uma data, materializando-o a partir do modelo aplicado
+     * caso o dia ainda não tenha sido criado.
+     * Depois de materializado, o dia passa a ser um cardápio comum e as alterações
+     * feitas nele valem apenas para aquela data (o modelo não é modificado). O dia é
+     * guardado por inteiro, e não como diferença em relação ao modelo, porque os itens
+     * precisam de IDs estáveis para as operações de edição.
+     *
+     * Um dia sem modelo (ou cujo dia do ciclo não tem entradas) não é armazenado aqui:
+     * o cardápio vazio devolvido só é salvo por quem o alterar.
+     *
+     * @param data data do cardápio
+     * @return cardápio da data
+     */
+    private CardapioDiario obterOuMaterializar(LocalDate data) {
+        if (repositorio.contem(data)) {
+            return repositorio.obter(data);
+        }
+
+        CardapioDiario cardapio = new CardapioDiario(data);
+        AplicacaoModelo aplicacao = buscarModeloParaData(data);
+        List<EntradaModelo> entradas = aplicacao == null
+                ? List.of() : aplicacao.getModelo().entradasPara(aplicacao.getInicio(), data);
+
+        if (!entradas.isEmpty()) {
+            // Ler não é alterar: o histórico e o índice de pratos não mudam, e o bitmap já foi
+            // montado com as entradas do modelo em aplicarModelo. Os IDs entram no índice de itens
+            // para que o administrador possa editar os itens recém-materializados.
+            for (EntradaModelo entrada : entradas) {
+                ItemCardapio novoItem = new ItemCardapio(gerarNovoId(), entrada.getTipo(), entrada.getNome(), entrada.getTipoPrato());
+                cardapio.addItem(novoItem);
+                indiceItens.put(novoItem.getId(), data);
+            }
+            repositorio.salvar(cardapio);
+            materializadosIntactos.add(data);
+        }
+
+        return cardapio;
+    }
+
+    /**
+     * Busca a aplicação de modelo mais recente que cobre a data.
+     *
+     * @param data data procurada
+     * @return AplicacaoModelo que cobre a data ou null se nenhum modelo cobrir
+     */
+    private AplicacaoModelo buscarModeloParaData(LocalDate data) {
+        for (int i = modelos.size() - 1; i >= 0; i--) {
+            if (modelos.get(i).cobre(data)) {
+                return modelos.get(i);
+            }
+        }
+        return null;
+    }
+
     /**
      * Busca um item específico percorrendo todos os cardápios cadastrados.
      *
@@ -198,20 +845,23 @@ public class ControleRU implements ISistemaRU {
      * @return CardapioDiario que contém o item ou null se não encontrado
      */
     private CardapioDiario buscarCardapioPorItemId(long idItem) {
-        for (CardapioDiario cardapio : repositorio.listar()) {
-            // Verifica se o item está no almoço
-            for (ItemCardapio item : cardapio.getItensAlmoco()) {
-                if (item.getId() == idItem) {
-                    return cardapio;
-                }
-            }
-            // Verifica se o item está no jantar
-            for (ItemCardapio item : cardapio.getItensJantar()) {
-                if (item.getId() == idItem) {
-                    return cardapio;
-                }
-            }
+        // Consulta o índice em vez de percorrer todos os cardápios
+        LocalDate data = indiceItens.get(idItem);
+        return data == null ? null : repositorio.obter(data);
+    }
+
+    /**
+     * Busca o cardápio que contém um item, exigindo que ele exista.
+     *
+     * @param idItem ID do item procurado
+     * @return CardapioDiario que contém o item
+     * @throws IllegalArgumentException se o item não for encontrado
+     */
+    private CardapioDiario buscarCardapioObrigatorio(long idItem) {
+        CardapioDiario cardapio = buscarCardapioPorItemId(idItem);
+        if (cardapio == null) {
+            throw new IllegalArgumentException("Item com ID " + idItem + " não encontrado!");
         }
-        return null;
+        return cardapio;
     }
 }
\ No newline at end of file
@@ -0,0 +1,353 @@
+package Controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import Model.CardapioDiario;
+import Model.CodecCardapio;
+import Model.ConfiguracoesAplicacao;
+import Model.ItemCardapio;
+
+/**
+ * Exporta os cardápios publicados como arquivos estáticos (um .json e um .html por dia,
+ * mais index.json e index.html com a lista de datas), que podem ser servidos por qualquer
+ * servidor de arquivos sem carga na aplicação.
+ *
+ * O JSON é gerado pelo CodecCardapio. A exportação é incremental: o hash SHA-256 do JSON
+ * de cada dia fica gravado na pasta de destino e só os dias cujo conteúdo mudou desde a
+ * última execução são regravados.
+ * Cada arquivo é escrito em um temporário e movido sobre o original (escrita atômica).
+ *
+ * O exportador é um OuvinteCardapio: as alterações só marcam a data como pendente, e uma
+ * thread em segundo plano agrupa as pendências durante o intervalo de flush da configuração.
+ *
+ * Antes de uma publicação agendada, prepararPublicacao deixa o HTML do dia já renderizado;
+ * se o conteúdo não mudar até a publicação, ele é gravado sem ser renderizado de novo.
+ */
+public class ExportadorEstatico implements OuvinteCardapio {
+
+    /** Arquivo (dentro da pasta de destino) com o hash de cada dia exportado */
+    private static final String ARQUIVO_HASHES = ".hashes";
+
+    private final ControleRU controle;
+    private final Path pasta;
+
+    /** Hash do JSON de cada data exportada, ordenado por data para montar o índice */
+    private final Map<LocalDate, String> hashes = new TreeMap<>();
+
+    /** Datas alteradas que ainda não foram exportadas */
+    private final Set<LocalDate> pendentes = new HashSet<>();
+    private boolean exportacaoAgendada;
+
+    /**
+     * Algum dia mudou desde a última gravação bem-sucedida do índice e dos hashes
+     * (usado só pela thread do exportador). Só é limpo depois que os dois foram gravados,
+     * para que uma falha ao gravá-los seja corrigida na próxima tentativa.
+     */
+    private boolean indiceSujo;
+
+    /** Codec usado só pela thread do exportador (CodecCardapio não é thread-safe) */
+    private final CodecCardapio codec = new CodecCardapio();
+
+    /** HTML de um dia renderizado antes da publicação, com o hash do JSON que o originou */
+    private static class Previa {
+        final String hash;
+        final byte[] html;
+        final long criadaEmMs;
+
+        Previa(String hash, byte[] html, long criadaEmMs) {
+            this.hash = hash;
+            this.html = html;
+            this.criadaEmMs = criadaEmMs;
+        }
+    }
+
+    /** Folga, além da antecedência do aquecimento, antes de uma prévia não usada ser descartada */
+    private static final long FOLGA_PREVIA_MS = 60_000;
+
+    /**
+     * Prévias das publicações agendadas (usado só pela thread do exportador). Cada prévia sai
+     * daqui na exportação seguinte do dia (seja ela gravação ou remoção) ou, se o dia nunca
+     * for exportado (ex: agendamento cancelado), quando ficar velha demais.
+     */
+    private final Map<LocalDate, Previa> previas = new HashMap<>();
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "exportador-estatico");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * @param controle controlador de onde os cardápios são lidos
+     * @param pasta pasta onde os arquivos estáticos serão gravados
+     */
+    public ExportadorEstatico(ControleRU controle, Path pasta) {
+        this.controle = Objects.requireNonNull(controle, "Controle não pode ser nulo.");
+        this.pasta = Objects.requireNonNull(pasta, "Pasta não pode ser nula.");
+    }
+
+    /**
+     * Carrega os hashes da última execução, passa a ouvir o controlador e agenda
+     * uma verificação completa de todas as datas armazenadas.
+     * @throws IOException se não for possível criar a pasta ou ler os hashes
+     */
+    public void iniciar() throws IOException {
+        Files.createDirectories(pasta);
+        carregarHashes();
+        controle.adicionarOuvinte(this);
+
+        synchronized (this) {
+            pendentes.addAll(controle.listarDatasArmazenadas());
+            // Datas exportadas antes mas que não existem mais também precisam ser revistas
+            pendentes.addAll(hashes.keySet());
+        }
+        agendarExportacao();
+    }
+
+    /**
+     * Para a thread de exportação. Pendências ainda não exportadas são descartadas.
+     */
+    public void parar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Marca a data como pendente e agenda a exportação, caso ainda não esteja agendada.
+     * @param data data do cardápio alterado
+     */
+    @Override
+    public void cardapioAlterado(LocalDate data) {
+        synchronized (this) {
+            pendentes.add(data);
+        }
+        agendarExportacao();
+    }
+
+    /**
+     * Renderiza em segundo plano os arquivos que o dia terá quando for publicado, para que a
+     * exportação no momento da publicação só precise gravá-los (usado como aquecedor do
+     * AgendadorPublicacao). Não faz nada se o dia ainda não tiver cardápio armazenado.
+     * @param data data que será publicada
+     */
+    public void prepararPublicacao(LocalDate data) {
+        Objects.requireNonNull(data, "Data não pode ser nula.");
+        executor.execute(() -> {
+            CardapioDiario cardapio = controle.obterCopia(data);
+            if (cardapio == null || cardapio.isVazio()) {
+                return;
+            }
+            try {
+                cardapio.setPublicado(true);
+                String hash = calcularHash(gerarJson(cardapio));
+                previas.put(data, new Previa(hash, gerarHtml(cardapio).getBytes(StandardCharsets.UTF_8), System.currentTimeMillis()));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Não foi possível preparar a exportação de " + data + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private void agendarExportacao() {
+        synchronized (this) {
+            if (exportacaoAgendada) {
+                return;
+            }
+            exportacaoAgendada = true;
+        }
+        long intervaloMs = ConfiguracoesAplicacao.getInstancia().getAtual().getIntervaloFlushMs();
+        executor.schedule(this::exportarPendentes, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Executado na thread do exportador: regrava os dias pendentes cujo hash mudou
+     * e, se algo mudou desde a última gravação bem-sucedida, o índice e o arquivo de hashes.
+     */
+    private void exportarPendentes() {
+        Set<LocalDate> lote;
+        synchronized (this) {
+            lote = new HashSet<>(pendentes);
+            pendentes.clear();
+            exportacaoAgendada = false;
+        }
+
+        try {
+            for (LocalDate data : lote) {
+                indiceSujo |= exportarDia(data);
+            }
+            if (indiceSujo) {
+                gravarIndice();
+                gravarHashes();
+                indiceSujo = false;
+            }
+            descartarPreviasVelhas();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Falha na exportação estática: " + e.getMessage());
+            // Devolve o lote para tentar de novo no próximo ciclo
+            synchronized (this) {
+                pendentes.addAll(lote);
+            }
+            agendarExportacao();
+        }
+    }
+
+    /**
+     * Exporta (ou remove) os arquivos de um dia.
+     * @param data data do cardápio
+     * @return true se algum arquivo foi gravado ou removido
+     */
+    private boolean exportarDia(LocalDate data) throws IOException {
+        CardapioDiario cardapio = controle.obterCopia(data);
+        Previa previa = previas.remove(data);
+
+        if (cardapio == null || !cardapio.isPublicado()) {
+            if (hashes.remove(data) == null) {
+                return false;
+            }
+            Files.deleteIfExists(pasta.resolve(data + ".json"));
+            Files.deleteIfExists(pasta.resolve(data + ".html"));
+            return true;
+        }
+
+        byte[] json = gerarJson(cardapio);
+        String hash = calcularHash(json);
+        if (hash.equals(hashes.get(data))) {
+            return false;
+        }
+
+        // A prévia só vale se o cardápio não mudou desde que ela foi renderizada
+        byte[] html = previa != null && previa.hash.equals(hash)
+                ? previa.html : gerarHtml(cardapio).getBytes(StandardCharsets.UTF_8);
+        gravarAtomico(pasta.resolve(data + ".json"), json);
+        gravarAtomico(pasta.resolve(data + ".html"), html);
+        hashes.put(data, hash);
+        return true;
+    }
+
+    /**
+     * Descarta as prévias que passaram do horário em que seriam usadas.
+     */
+    private void descartarPreviasVelhas() {
+        long limite = System.currentTimeMillis() - FOLGA_PREVIA_MS
+                - ConfiguracoesAplicacao.getInstancia().getAtual().getAntecedenciaAquecimentoMs();
+        previas.values().removeIf(previa -> previa.criadaEmMs < limite);
+    }
+
+    // ==================== Renderização ====================
+
+    private byte[] gerarJson(CardapioDiario cardapio) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(1024);
+        codec.escreverJson(cardapio, saida);
+        return saida.toByteArray();
+    }
+
+    private String gerarHtml(CardapioDiario cardapio) {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html lang=\"pt-BR\">\n<head><meta charset=\"UTF-8\"><title>Cardápio ")
+                .append(cardapio.getData()).append("</title></head>\n<body>\n<h1>Cardápio ")
+                .append(cardapio.getData()).append("</h1>\n");
+        anexarRefeicaoHtml(html, "Almoço", cardapio.getItensAlmoco());
+        anexarRefeicaoHtml(html, "Jantar", cardapio.getItensJantar());
+        html.append("<p><a href=\"index.html\">Todas as datas</a></p>\n</body>\n</html>\n");
+        return html.toString();
+    }
+
+    private void anexarRefeicaoHtml(StringBuilder html, String titulo, List<ItemCardapio> itens) {
+        html.append("<h2>").append(titulo).append("</h2>\n<ul>\n");
+        for (ItemCardapio item : itens) {
+            html.append("<li>").append(escaparHtml(item.getNome()))
+                    .append(" (").append(item.getTipoPrato().name()).append(")</li>\n");
+        }
+        html.append("</ul>\n");
+    }
+
+    private void gravarIndice() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        StringBuilder html = new StringBuilder(
+                "<!DOCTYPE html>\n<html lang=\"pt-BR\">\n<head><meta charset=\"UTF-8\"><title>Cardápios do RU</title></head>\n"
+                        + "<body>\n<h1>Cardápios publicados</h1>\n<ul>\n");
+        boolean primeiro = true;
+        for (Map.Entry<LocalDate, String> entrada : hashes.entrySet()) {
+            if (!primeiro) {
+                json.append(',');
+            }
+            primeiro = false;
+            json.append("{\"data\":\"").append(entrada.getKey())
+                    .append("\",\"hash\":\"").append(entrada.getValue()).append("\"}");
+            html.append("<li><a href=\"").append(entrada.getKey()).append(".html\">")
+                    .append(entrada.getKey()).append("</a></li>\n");
+        }
+        json.append(']');
+        html.append("</ul>\n</body>\n</html>\n");
+
+        gravarAtomico(pasta.resolve("index.json"), json.toString().getBytes(StandardCharsets.UTF_8));
+        gravarAtomico(pasta.resolve("index.html"), html.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String escaparHtml(String texto) {
+        return texto.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    // ==================== Arquivos ====================
+
+    private static String calcularHash(byte[] conteudo) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM é obrigada a oferecer SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void gravarAtomico(Path destino, byte[] conteudo) throws IOException {
+        Path temporario = Files.createTempFile(pasta, destino.getFileName().toString(), ".tmp");
+        Files.write(temporario, conteudo);
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void carregarHashes() throws IOException {
+        Path arquivo = pasta.resolve(ARQUIVO_HASHES);
+        if (!Files.exists(arquivo)) {
+            return;
+        }
+        Properties props = new Properties();
+        try (Reader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            props.load(leitor);
+        }
+        for (String data : props.stringPropertyNames()) {
+            hashes.put(LocalDate.parse(data), props.getProperty(data));
+        }
+    }
+
+    private void gravarHashes() throws IOException {
+        Properties props = new Properties();
+        for (Map.Entry<LocalDate, String> entrada : hashes.entrySet()) {
+            props.setProperty(entrada.getKey().toString(), entrada.getValue());
+        }
+        Path temporario = Files.createTempFile(pasta, ARQUIVO_HASHES, ".tmp");
+        try (Writer escritor = Files.newBufferedWriter(temporario, StandardCharsets.UTF_8)) {
+            props.store(escritor, null);
+        }
+        Files.move(temporario, pasta.resolve(ARQUIVO_HASHES), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
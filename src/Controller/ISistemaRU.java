@@ -4,6 +4,9 @@ import java.time.LocalDate;
 import java.util.List;
 
 import Model.CardapioDiario;
+import Model.CriterioPratos;
+import Model.ModeloCardapio;
+import Model.ResultadoAlteracoes;
 import Model.TipoPrato;
 import Model.TipoRefeicao;
 
@@ -13,11 +16,33 @@ public interface ISistemaRU {
 
     CardapioDiario obterCardapio(LocalDate data);
 
+    CardapioDiario obterCardapioPublicado(LocalDate data);
+
     void adicionarItem(LocalDate data, TipoRefeicao tipo, String nome, TipoPrato tipoPrato);
 
+    void renomearItem(long idItem, String novoNome);
+
+    void moverItem(long idItem, TipoRefeicao destino);
+
+    void reordenarItem(long idItem, Long idItemSeguinte);
+
     void removerItem(long idItem);
 
     void definirPublicado(LocalDate data, boolean publicado);
 
+    void aplicarModelo(ModeloCardapio modelo, LocalDate inicio, LocalDate fim);
+
+    void copiarPeriodo(LocalDate inicio, LocalDate fim, LocalDate destino);
+
+    void deslocarPeriodo(LocalDate inicio, LocalDate fim, int dias);
+
+    void limparPeriodo(LocalDate inicio, LocalDate fim);
+
+    ResultadoAlteracoes obterAlteracoesDesde(long epoca, long cursor, int limite);
+
+    List<String> sugerirPratos(String prefixo, TipoPrato tipoPrato, int limite);
+
+    List<LocalDate> buscarDias(CriterioPratos criterio, LocalDate inicio, LocalDate fim);
+
 
 }
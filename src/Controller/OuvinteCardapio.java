@@ -0,0 +1,17 @@
+package Controller;
+
+import java.time.LocalDate;
+
+/**
+ * Interface para componentes que precisam saber quando um cardápio foi alterado
+ * (itens adicionados/removidos ou mudança no status de publicação).
+ * O aviso é feito pelo ControleRU dentro da operação, então a implementação deve ser rápida
+ * e deixar o trabalho pesado para outra thread.
+ */
+public interface OuvinteCardapio {
+
+    /**
+     * @param data data do cardápio que foi alterado
+     */
+    void cardapioAlterado(LocalDate data);
+}
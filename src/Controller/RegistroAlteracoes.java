@@ -0,0 +1,119 @@
+package Controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
+
+import Model.Alteracao;
+import Model.Configuracao;
+import Model.ConfiguracoesAplicacao;
+import Model.ResultadoAlteracoes;
+
+/**
+ * Histórico das alterações mais recentes, guardado em um buffer circular.
+ * Cada alteração recebe um número de sequência crescente (começando em 1). Só as últimas
+ * N alterações ficam guardadas (N vem da configuração); um cursor mais antigo que isso
+ * recebe o sinal de ressincronizar.
+ *
+ * Como as sequências recomeçam em 1 a cada execução, o registro também tem uma época,
+ * sorteada ao ser criado. Um cursor guardado por um cliente (ex: em disco) só vale junto
+ * com a época em que foi obtido; com outra época, o cliente recebe o sinal de ressincronizar.
+ */
+public class RegistroAlteracoes {
+
+    /** Quantidade máxima de alterações devolvidas em uma única consulta */
+    public static final int LIMITE_MAXIMO = 1000;
+
+    private final long epoca = ThreadLocalRandom.current().nextLong();
+    private Alteracao[] buffer;
+    private long ultimaSequencia;
+    /** Sequência da alteração mais antiga ainda guardada no buffer */
+    private long primeiraGuardada = 1;
+
+    public RegistroAlteracoes() {
+        ConfiguracoesAplicacao configuracoes = ConfiguracoesAplicacao.getInstancia();
+        this.buffer = new Alteracao[configuracoes.getAtual().getCapacidadeAlteracoes()];
+        configuracoes.adicionarOuvinte(this::configuracaoAlterada);
+    }
+
+    /**
+     * Gera o próximo número de sequência e guarda a alteração criada com ele.
+     * @param criador cria a alteração a partir do número de sequência
+     * @return a alteração registrada
+     */
+    public synchronized Alteracao registrar(LongFunction<Alteracao> criador) {
+        Alteracao alteracao = criador.apply(ultimaSequencia + 1);
+        ultimaSequencia++;
+        buffer[posicao(ultimaSequencia)] = alteracao;
+        primeiraGuardada = Math.max(primeiraGuardada, ultimaSequencia - buffer.length + 1);
+        return alteracao;
+    }
+
+    /**
+     * Retorna as alterações com sequência maior que o cursor.
+     * @param epoca época em que o cursor foi obtido (ignorada quando o cursor é 0)
+     * @param cursor última sequência já recebida pelo cliente (0 para começar do início)
+     * @param limite quantidade máxima de alterações desejadas (limitada a LIMITE_MAXIMO)
+     * @return lote de alterações, ou o sinal de ressincronizar se o cursor for antigo demais
+     *         ou de outra época
+     * @throws IllegalArgumentException se o cursor for negativo ou estiver no futuro, ou se o limite não for positivo
+     */
+    public synchronized ResultadoAlteracoes desde(long epoca, long cursor, int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("O limite deve ser positivo!");
+        }
+        if (cursor != 0 && epoca != this.epoca) {
+            return new ResultadoAlteracoes(this.epoca, List.of(), ultimaSequencia, false, true);
+        }
+        if (cursor < 0 || cursor > ultimaSequencia) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        if (cursor + 1 < primeiraGuardada) {
+            return new ResultadoAlteracoes(this.epoca, List.of(), ultimaSequencia, false, true);
+        }
+
+        long ultima = Math.min(ultimaSequencia, cursor + Math.min(limite, LIMITE_MAXIMO));
+        List<Alteracao> lote = new ArrayList<>((int) (ultima - cursor));
+        for (long seq = cursor + 1; seq <= ultima; seq++) {
+            lote.add(buffer[posicao(seq)]);
+        }
+        return new ResultadoAlteracoes(this.epoca, lote, ultima, ultima < ultimaSequencia, false);
+    }
+
+    /**
+     * @return época deste registro (muda a cada execução)
+     */
+    public long getEpoca() {
+        return epoca;
+    }
+
+    /**
+     * @return sequência da alteração mais recente (0 se nenhuma alteração foi feita)
+     */
+    public synchronized long getUltimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    private int posicao(long sequencia) {
+        return (int) (sequencia % buffer.length);
+    }
+
+    /**
+     * Redimensiona o buffer quando a capacidade muda, mantendo as alterações mais recentes que couberem.
+     */
+    private synchronized void configuracaoAlterada(Configuracao nova) {
+        int capacidade = nova.getCapacidadeAlteracoes();
+        if (capacidade == buffer.length) {
+            return;
+        }
+        Alteracao[] antigo = buffer;
+        // Ao aumentar, as alterações já descartadas continuam fora: só cresce o espaço para as próximas
+        primeiraGuardada = Math.max(primeiraGuardada, ultimaSequencia - capacidade + 1);
+
+        buffer = new Alteracao[capacidade];
+        for (long seq = primeiraGuardada; seq <= ultimaSequencia; seq++) {
+            buffer[posicao(seq)] = antigo[(int) (seq % antigo.length)];
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package Controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import Model.CardapioDiario;
+import Model.CodecCardapio;
+import Model.Configuracao;
+import Model.ConfiguracoesAplicacao;
+
+/**
+ * Servidor HTTP mínimo (com.sun.net.httpserver, já incluso no JDK) que entrega aos alunos
+ * os cardápios publicados em JSON, sem depender do JavaFX:
+ *  - GET /datas             lista das datas com cardápio publicado
+ *  - GET /cardapio/AAAA-MM-DD cardápio publicado da data (404 se não houver)
+ *  - GET /metricas          contadores do controle de admissão
+ *
+ * Toda leitura de cardápio passa pelo ControleAdmissao, usando o IP do cliente como identificação;
+ * leituras recusadas recebem 503 com o cabeçalho Retry-After. /metricas não passa pela
+ * admissão, para continuar respondendo justamente quando o sistema está sobrecarregado.
+ * O JSON é gerado pelo CodecCardapio, com uma instância por thread criada só no primeiro uso.
+ * O tempo entre o início do processo e a primeira requisição atendida é registrado no log,
+ * para acompanhar quanto demora a volta do serviço após um deploy.
+ * As requisições são atendidas por um pool com "pool.tamanho" threads; quando a configuração
+ * muda, o pool é redimensionado sem reiniciar o servidor.
+ */
+public class ServidorCardapio {
+
+    private static final String TIPO_JSON = "application/json; charset=utf-8";
+
+    private final ControleRU controle;
+    private final ControleAdmissao admissao;
+    private final ThreadLocal<CodecCardapio> codecs = ThreadLocal.withInitial(CodecCardapio::new);
+    private final AtomicBoolean primeiraRequisicao = new AtomicBoolean(true);
+
+    private HttpServer servidor;
+    private ThreadPoolExecutor executor;
+
+    /**
+     * @param controle controlador de onde os cardápios são lidos
+     * @param admissao controle de admissão aplicado a todas as leituras
+     */
+    public ServidorCardapio(ControleRU controle, ControleAdmissao admissao) {
+        this.controle = Objects.requireNonNull(controle, "Controle não pode ser nulo.");
+        this.admissao = Objects.requireNonNull(admissao, "Admissão não pode ser nula.");
+        ConfiguracoesAplicacao.getInstancia().adicionarOuvinte(this::configuracaoAlterada);
+    }
+
+    /**
+     * Abre a porta e passa a atender requisições.
+     * @param porta porta HTTP (0 escolhe uma porta livre)
+     * @throws IOException se não for possível abrir a porta
+     */
+    public synchronized void iniciar(int porta) throws IOException {
+        if (servidor != null) {
+            throw new IllegalStateException("O servidor já foi iniciado!");
+        }
+        int tamanho = ConfiguracoesAplicacao.getInstancia().getAtual().getTamanhoPool();
+        executor = new ThreadPoolExecutor(tamanho, tamanho, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        servidor = HttpServer.create(new InetSocketAddress(porta), 0);
+        servidor.setExecutor(executor);
+        servidor.createContext("/datas", this::atenderDatas);
+        servidor.createContext("/cardapio/", this::atenderCardapio);
+        servidor.createContext("/metricas", this::atenderMetricas);
+        servidor.start();
+    }
+
+    /**
+     * @return porta em que o servidor está atendendo
+     */
+    public synchronized int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Para de aceitar requisições, esperando no máximo um segundo pelas que estão em andamento.
+     */
+    public synchronized void parar() {
+        if (servidor != null) {
+            servidor.stop(1);
+            executor.shutdown();
+            servidor = null;
+            executor = null;
+        }
+    }
+
+    /**
+     * @return quantidade de threads do pool de atendimento (0 se o servidor estiver parado)
+     */
+    public synchronized int getTamanhoPool() {
+        return executor == null ? 0 : executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Aplica o novo "pool.tamanho" ao pool em uso. A ordem das chamadas mantém o núcleo
+     * sempre menor ou igual ao máximo; threads a mais terminam ao concluir a tarefa atual.
+     */
+    private synchronized void configuracaoAlterada(Configuracao nova) {
+        if (executor == null || executor.getMaximumPoolSize() == nova.getTamanhoPool()) {
+            return;
+        }
+        int tamanho = nova.getTamanhoPool();
+        if (tamanho > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(tamanho);
+            executor.setCorePoolSize(tamanho);
+        } else {
+            executor.setCorePoolSize(tamanho);
+            executor.setMaximumPoolSize(tamanho);
+        }
+        System.out.println("Pool do servidor redimensionado para " + tamanho + " threads.");
+    }
+
+    private void atenderDatas(HttpExchange troca) throws IOException {
+        if (!validarMetodo(troca)) {
+            return;
+        }
+        List<LocalDate> datas;
+        try {
+            datas = admissao.executar(cliente(troca), "datas", controle::listarDatasPublicadas);
+        } catch (SobrecargaException e) {
+            responderSobrecarga(troca, e);
+            return;
+        }
+
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < datas.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(datas.get(i)).append('"');
+        }
+        json.append(']');
+        responder(troca, 200, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void atenderCardapio(HttpExchange troca) throws IOException {
+        if (!validarMetodo(troca)) {
+            return;
+        }
+        LocalDate data;
+        try {
+            data = LocalDate.parse(troca.getRequestURI().getPath().substring("/cardapio/".length()));
+        } catch (DateTimeParseException e) {
+            responderErro(troca, 400, "Data inválida. Use o formato AAAA-MM-DD.");
+            return;
+        }
+
+        CardapioDiario cardapio;
+        try {
+            // Cópia: a codificação acontece fora do lock do controlador
+            cardapio = admissao.executar(cliente(troca), "cardapio", () -> controle.obterCardapioPublicado(data));
+        } catch (SobrecargaException e) {
+            responderSobrecarga(troca, e);
+            return;
+        }
+        if (cardapio == null) {
+            responderErro(troca, 404, "Cardápio não divulgado para esta data.");
+            return;
+        }
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(1024);
+        codecs.get().escreverJson(cardapio, saida);
+        responder(troca, 200, saida.toByteArray());
+    }
+
+    private void atenderMetricas(HttpExchange troca) throws IOException {
+        if (!validarMetodo(troca)) {
+            return;
+        }
+        String json = "{\"aceitas\":" + admissao.getAceitas()
+                + ",\"rejeitadas\":" + admissao.getRejeitadas()
+                + ",\"enfileiradas\":" + admissao.getEnfileiradas()
+                + ",\"limiteConcorrencia\":" + admissao.getLimiteConcorrencia()
+                + ",\"emExecucao\":" + admissao.getEmExecucao() + "}";
+        responder(troca, 200, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean validarMetodo(HttpExchange troca) throws IOException {
+        if ("GET".equals(troca.getRequestMethod())) {
+            return true;
+        }
+        troca.getResponseHeaders().set("Allow", "GET");
+        responderErro(troca, 405, "Método não permitido.");
+        return false;
+    }
+
+    private static String cliente(HttpExchange troca) {
+        return troca.getRemoteAddress().getAddress().getHostAddress();
+    }
+
+    private void responderSobrecarga(HttpExchange troca, SobrecargaException e) throws IOException {
+        long segundos = Math.max(1, (e.getEsperarMs() + 999) / 1000);
+        troca.getResponseHeaders().set("Retry-After", String.valueOf(segundos));
+        responderErro(troca, 503, e.getMessage());
+    }
+
+    private void responderErro(HttpExchange troca, int status, String mensagem) throws IOException {
+        String json = "{\"erro\":\"" + mensagem.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+        responder(troca, status, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void responder(HttpExchange troca, int status, byte[] corpo) throws IOException {
+        troca.getResponseHeaders().set("Content-Type", TIPO_JSON);
+        troca.sendResponseHeaders(status, corpo.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(corpo);
+        }
+        registrarPrimeiraRequisicao();
+    }
+
+    private void registrarPrimeiraRequisicao() {
+        if (primeiraRequisicao.compareAndSet(true, false)) {
+            ProcessHandle.current().info().startInstant().ifPresent(inicio ->
+                    System.out.println("Primeira requisição atendida "
+                            + Duration.between(inicio, Instant.now()).toMillis() + " ms após o início do processo."));
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package Controller;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+import Model.CardapioDiario;
+import Model.CriterioPratos;
+import Model.ModeloCardapio;
+import Model.ResultadoAlteracoes;
+import Model.TipoPrato;
+import Model.TipoRefeicao;
+
+/**
+ * Decorador de ISistemaRU que faz as leituras de um cliente passarem pelo ControleAdmissao.
+ * As operações de escrita (do administrador) são repassadas direto ao sistema, sem limite.
+ * Os clientes dos alunos devem usar obterCardapioPublicado e obterAlteracoesDesde, que o
+ * ControleRU atende sem o seu lock; as demais leituras continuam disputando o lock com as escritas.
+ */
+public class SistemaRUComAdmissao implements ISistemaRU {
+
+    private final ISistemaRU sistema;
+    private final ControleAdmissao admissao;
+    private final String idCliente;
+
+    /**
+     * @param sistema sistema real
+     * @param admissao controle de admissão compartilhado entre os clientes
+     * @param idCliente identificação do cliente que usará esta instância
+     */
+    public SistemaRUComAdmissao(ISistemaRU sistema, ControleAdmissao admissao, String idCliente) {
+        this.sistema = Objects.requireNonNull(sistema, "Sistema não pode ser nulo.");
+        this.admissao = Objects.requireNonNull(admissao, "Admissão não pode ser nula.");
+        this.idCliente = Objects.requireNonNull(idCliente, "Cliente não pode ser nulo.");
+    }
+
+    @Override
+    public List<LocalDate> listarDatasDisponiveis() {
+        return admissao.executar(idCliente, "listarDatasDisponiveis", sistema::listarDatasDisponiveis);
+    }
+
+    @Override
+    public CardapioDiario obterCardapio(LocalDate data) {
+        return admissao.executar(idCliente, "obterCardapio", () -> sistema.obterCardapio(data));
+    }
+
+    @Override
+    public CardapioDiario obterCardapioPublicado(LocalDate data) {
+        return admissao.executar(idCliente, "obterCardapioPublicado", () -> sistema.obterCardapioPublicado(data));
+    }
+
+    @Override
+    public void copiarPeriodo(LocalDate inicio, LocalDate fim, LocalDate destino) {
+        sistema.copiarPeriodo(inicio, fim, destino);
+    }
+
+    @Override
+    public void deslocarPeriodo(LocalDate inicio, LocalDate fim, int dias) {
+        sistema.deslocarPeriodo(inicio, fim, dias);
+    }
+
+    @Override
+    public void limparPeriodo(LocalDate inicio, LocalDate fim) {
+        sistema.limparPeriodo(inicio, fim);
+    }
+
+    @Override
+    public List<LocalDate> buscarDias(CriterioPratos criterio, LocalDate inicio, LocalDate fim) {
+        return admissao.executar(idCliente, "buscarDias", () -> sistema.buscarDias(criterio, inicio, fim));
+    }
+
+    @Override
+    public ResultadoAlteracoes obterAlteracoesDesde(long epoca, long cursor, int limite) {
+        return admissao.executar(idCliente, "obterAlteracoesDesde", () -> sistema.obterAlteracoesDesde(epoca, cursor, limite));
+    }
+
+    @Override
+    public void adicionarItem(LocalDate data, TipoRefeicao tipo, String nome, TipoPrato tipoPrato) {
+        sistema.adicionarItem(data, tipo, nome, tipoPrato);
+    }
+
+    @Override
+    public void renomearItem(long idItem, String novoNome) {
+        sistema.renomearItem(idItem, novoNome);
+    }
+
+    @Override
+    public void moverItem(long idItem, TipoRefeicao destino) {
+        sistema.moverItem(idItem, destino);
+    }
+
+    @Override
+    public void reordenarItem(long idItem, Long idItemSeguinte) {
+        sistema.reordenarItem(idItem, idItemSeguinte);
+    }
+
+    @Override
+    public void removerItem(long idItem) {
+        sistema.removerItem(idItem);
+    }
+
+    @Override
+    public void definirPublicado(LocalDate data, boolean publicado) {
+        sistema.definirPublicado(data, publicado);
+    }
+
+    @Override
+    public void aplicarModelo(ModeloCardapio modelo, LocalDate inicio, LocalDate fim) {
+        sistema.aplicarModelo(modelo, inicio, fim);
+    }
+
+    @Override
+    public List<String> sugerirPratos(String prefixo, TipoPrato tipoPrato, int limite) {
+        return sistema.sugerirPratos(prefixo, tipoPrato, limite);
+    }
+}
@@ -0,0 +1,28 @@
+package Controller;
+
+/**
+ * Lançada quando o sistema recusa uma leitura por estar sobrecarregado.
+ * Carrega uma sugestão de quanto tempo o cliente deve esperar antes de tentar de novo.
+ */
+public class SobrecargaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long esperarMs;
+
+    /**
+     * @param mensagem motivo da recusa
+     * @param esperarMs tempo sugerido, em milissegundos, antes de uma nova tentativa
+     */
+    public SobrecargaException(String mensagem, long esperarMs) {
+        super(mensagem);
+        this.esperarMs = esperarMs;
+    }
+
+    /**
+     * @return tempo sugerido, em milissegundos, antes de uma nova tentativa
+     */
+    public long getEsperarMs() {
+        return esperarMs;
+    }
+}
@@ -1,10 +1,18 @@
+import Controller.AgendadorPublicacao;
+import Controller.CacheQuiosque;
+import Controller.ControleAdmissao;
 import Controller.ControleRU;
+import Controller.ExportadorEstatico;
 import Controller.ISistemaRU;
+import Controller.SistemaRUComAdmissao;
+import Model.ConfiguracoesAplicacao;
 import View.TelaConfigCardapio;
 import View.TelaUsuario;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.Pane;
@@ -12,17 +20,69 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 public class Main extends Application {
 
     private Stage primaryStage;
     private ISistemaRU controller; // Controlador ÚNICO compartilhado
+    private AgendadorPublicacao agendador; // Publicações agendadas (roda em segundo plano)
+    private ExportadorEstatico exportador; // Gera os arquivos estáticos dos cardápios publicados
+    private ControleAdmissao admissao; // Limita as leituras dos alunos em horários de pico
+    private CacheQuiosque cacheQuiosque; // Cardápios da tela do aluno guardados em disco
+    private TelaUsuario telaUsuario; // Montada uma única vez e reaproveitada
+    private Scene cenaUsuario;
 
     @Override
     public void start(Stage stage) {
         this.primaryStage = stage;
 
         // 1. Inicializa o Controller UMA VEZ
-        this.controller = new ControleRU();
+        ControleRU controle = new ControleRU();
+        this.controller = controle;
+        this.admissao = new ControleAdmissao();
+
+        // Recarrega o arquivo de configuração sempre que ele for alterado
+        try {
+            ConfiguracoesAplicacao.getInstancia().iniciarMonitoramento();
+        } catch (IOException e) {
+            System.err.println("Não foi possível monitorar a configuração: " + e.getMessage());
+        }
+
+        // Exporta os cardápios publicados para a pasta "publico" sempre que mudarem
+        this.exportador = new ExportadorEstatico(controle, Path.of("publico"));
+        try {
+            exportador.iniciar();
+        } catch (IOException e) {
+            System.err.println("Não foi possível iniciar a exportação estática: " + e.getMessage());
+        }
+
+        // Carrega do disco os cardápios do quiosque (a tela do aluno abre na hora) e revalida em segundo plano.
+        // As leituras do aluno passam pelo controle de admissão; as do admin não
+        this.cacheQuiosque = new CacheQuiosque(new SistemaRUComAdmissao(controller, admissao, "quiosque-local"),
+                Path.of("quiosque-cache.bin"));
+        cacheQuiosque.iniciar();
+
+        // Inicia o agendador de publicações, recarregando o que ficou pendente.
+        // Antes de cada publicação o exportador já renderiza o dia e o quiosque se programa para revalidar
+        this.agendador = new AgendadorPublicacao(controller, Path.of("agendamentos.txt"));
+        agendador.adicionarAquecedor(a -> exportador.prepararPublicacao(a.getData()));
+        agendador.adicionarAquecedor(a -> cacheQuiosque.revalidarApos(a.getInstante()));
+        // Um agendamento que falhou fica listado na tela do admin; aqui o admin também é avisado na hora
+        agendador.adicionarOuvinteFalha(a -> Platform.runLater(() -> {
+            Alert alerta = new Alert(Alert.AlertType.ERROR);
+            alerta.setTitle("Agendamento não executado");
+            alerta.setHeaderText(null);
+            alerta.setContentText("Não foi possível " + (a.isPublicar() ? "publicar" : "despublicar")
+                    + " o cardápio de " + a.getData() + ": " + a.getMotivoFalha());
+            alerta.show();
+        }));
+        try {
+            agendador.iniciar();
+        } catch (IOException e) {
+            System.err.println("Não foi possível carregar os agendamentos: " + e.getMessage());
+        }
 
         // 2. Configura a janela
         primaryStage.setTitle("Sistema RU - Universidade");
@@ -62,7 +122,7 @@ public class Main extends Application {
         // Precisamos passar uma forma de voltar, se sua TelaConfigCardapio
         // não tiver botão de voltar, você pode adicionar um ou usar a barra do SO.
         // Mas aqui passamos o controller compartilhado:
-        Pane painelAdmin = telaConfig.criarTela(controller);
+        Pane painelAdmin = telaConfig.criarTela(controller, agendador);
 
         // Adicionando um botão de voltar "na marra" no topo se precisar,
         // ou apenas trocando a cena:
@@ -77,12 +137,24 @@ public class Main extends Application {
 
     // --- TELA 3: USUÁRIO/ALUNO ---
     private void exibirTelaUsuario() {
-        // Passamos a ação de voltar (exibirMenuPrincipal) para o construtor
-        TelaUsuario telaUser = new TelaUsuario(() -> exibirMenuPrincipal());
-
-        Pane painelUser = telaUser.criarTela(controller);
+        if (cenaUsuario == null) {
+            // Passamos a ação de voltar (exibirMenuPrincipal) para o construtor
+            telaUsuario = new TelaUsuario(() -> exibirMenuPrincipal());
+            Pane painelUser = telaUsuario.criarTela(cacheQuiosque);
+            cenaUsuario = new Scene(painelUser, 1000, 700);
+        } else {
+            telaUsuario.exibir();
+        }
+
+        primaryStage.setScene(cenaUsuario);
+    }
 
-        primaryStage.setScene(new Scene(painelUser, 1000, 700));
+    @Override
+    public void stop() {
+        agendador.parar();
+        exportador.parar();
+        cacheQuiosque.parar();
+        System.out.println("Admissão do quiosque: " + admissao.descreverMetricas());
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,104 @@
+import Controller.ControleAdmissao;
+import Controller.ControleRU;
+import Controller.ServidorCardapio;
+import Model.ConfiguracoesAplicacao;
+import Model.TipoPrato;
+import Model.TipoRefeicao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Ponto de entrada do modo servidor (sem interface gráfica).
+ * Não referencia nenhuma classe do JavaFX, então roda em servidores Linux sem display
+ * e sem o SDK do JavaFX no classpath.
+ *
+ * Para voltar a atender o quanto antes após um deploy, o servidor HTTP é aberto primeiro
+ * e o monitoramento da configuração é iniciado depois, em outra thread, sem atrasar as
+ * primeiras requisições.
+ *
+ * Limitação: o servidor é somente leitura. Ele não tem rota de escrita e usa o repositório em
+ * memória, que começa vazio a cada execução; então, até existir um repositório persistente
+ * compartilhado com a aplicação do administrador, /datas responde uma lista vazia e
+ * /cardapio responde 404. Por isso ele também não inicia o ExportadorEstatico nem o
+ * AgendadorPublicacao: sem os cardápios reais, o exportador apagaria a pasta "publico" da
+ * aplicação do administrador e o agendador descartaria os agendamentos dela como falhos.
+ *
+ * Com o argumento --treinar, o processo sobe com um cardápio de exemplo em memória, faz
+ * requisições a si mesmo e termina: é a execução usada para gerar o arquivo de class-data
+ * sharing (ver scripts/servidor.sh).
+ */
+public class MainServidor {
+
+    public static void main(String[] args) throws IOException {
+        boolean treinar = args.length > 0 && "--treinar".equals(args[0]);
+
+        ControleRU controle = new ControleRU();
+        ControleAdmissao admissao = new ControleAdmissao();
+
+        ServidorCardapio servidor = new ServidorCardapio(controle, admissao);
+        servidor.iniciar(treinar ? 0 : ConfiguracoesAplicacao.getInstancia().getAtual().getPortaServidor());
+        ProcessHandle.current().info().startInstant().ifPresent(inicio ->
+                System.out.println("Servidor pronto na porta " + servidor.getPorta() + " em "
+                        + Duration.between(inicio, Instant.now()).toMillis() + " ms."));
+
+        if (treinar) {
+            treinar(controle, servidor.getPorta());
+            servidor.parar();
+            return;
+        }
+
+        // O servidor já está atendendo: o monitoramento da configuração sobe em outra thread
+        Thread segundoPlano = new Thread(MainServidor::iniciarSegundoPlano, "inicializacao-segundo-plano");
+        segundoPlano.setDaemon(true);
+        segundoPlano.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            servidor.parar();
+            System.out.println("Admissão: " + admissao.descreverMetricas());
+        }, "encerramento"));
+    }
+
+    /**
+     * Inicia os componentes que não são necessários para atender as requisições.
+     */
+    private static void iniciarSegundoPlano() {
+        // Recarrega o arquivo de configuração sempre que ele for alterado
+        try {
+            ConfiguracoesAplicacao.getInstancia().iniciarMonitoramento();
+        } catch (IOException e) {
+            System.err.println("Não foi possível monitorar a configuração: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Publica um cardápio de exemplo e o consulta pelo próprio servidor, para que as classes
+     * usadas ao atender sejam carregadas durante a execução de treino.
+     */
+    private static void treinar(ControleRU controle, int porta) throws IOException {
+        LocalDate hoje = LocalDate.now();
+        controle.adicionarItem(hoje, TipoRefeicao.ALMOCO, "Arroz", TipoPrato.values()[0]);
+        controle.definirPublicado(hoje, true);
+
+        fazerRequisicao(porta, "/datas");
+        fazerRequisicao(porta, "/cardapio/" + hoje);
+    }
+
+    private static void fazerRequisicao(int porta, String caminho) throws IOException {
+        HttpURLConnection conexao = (HttpURLConnection) URI.create("http://localhost:" + porta + caminho).toURL().openConnection();
+        try {
+            InputStream corpo = conexao.getResponseCode() < 400 ? conexao.getInputStream() : conexao.getErrorStream();
+            if (corpo != null) {
+                corpo.readAllBytes();
+                corpo.close();
+            }
+        } finally {
+            conexao.disconnect();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package Model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Representa a publicação (ou despublicação) de um cardápio agendada para um instante.
+ * Um agendamento que não pôde ser executado guarda o motivo da falha (ver comFalha).
+ */
+public class AgendamentoPublicacao {
+    private final LocalDate data;
+    private final boolean publicar;
+    private final Instant instante;
+    private final String motivoFalha;
+
+    /**
+     * @param data data do cardápio afetado
+     * @param publicar true para publicar, false para despublicar
+     * @param instante momento em que a alteração deve acontecer
+     */
+    public AgendamentoPublicacao(LocalDate data, boolean publicar, Instant instante) {
+        this(data, publicar, instante, null);
+    }
+
+    private AgendamentoPublicacao(LocalDate data, boolean publicar, Instant instante, String motivoFalha) {
+        this.data = data;
+        this.publicar = publicar;
+        this.instante = instante;
+        this.motivoFalha = motivoFalha;
+    }
+
+    /**
+     * @param motivo motivo pelo qual o agendamento não pôde ser executado
+     * @return cópia deste agendamento marcada como falha
+     */
+    public AgendamentoPublicacao comFalha(String motivo) {
+        return new AgendamentoPublicacao(data, publicar, instante, motivo == null ? "erro desconhecido" : motivo);
+    }
+
+    public LocalDate getData() { return data; }
+    public boolean isPublicar() { return publicar; }
+    public Instant getInstante() { return instante; }
+    public boolean isFalhou() { return motivoFalha != null; }
+    /** @return motivo da falha, ou null se o agendamento não falhou */
+    public String getMotivoFalha() { return motivoFalha; }
+}
@@ -0,0 +1,84 @@
+package Model;
+
+import java.time.LocalDate;
+
+/**
+ * Representa uma alteração feita no sistema, em forma compacta, para sincronização incremental.
+ * Cada alteração recebe um número de sequência crescente; o cliente guarda o último número
+ * que recebeu (o cursor) e depois pede só o que veio depois dele.
+ *
+ * Só os campos que fazem sentido para o tipo são preenchidos:
+ * - ITEM_ADICIONADO: idItem, tipoRefeicao, nome, tipoPrato
+ * - ITEM_REMOVIDO: idItem
+ * - ITEM_RENOMEADO: idItem, nome
+ * - ITEM_MOVIDO: idItem, tipoRefeicao (destino)
+ * - ITEM_REORDENADO: idItem, idItemSeguinte (null = fim da lista)
+ * - PUBLICACAO: publicado
+ * - MODELO_APLICADO / PERIODO_ALTERADO: data e dataFim (o cliente deve recarregar o intervalo)
+ */
+public class Alteracao {
+    private final long sequencia;
+    private final TipoAlteracao tipo;
+    private final LocalDate data;
+    private final LocalDate dataFim;
+    private final long idItem;
+    private final Long idItemSeguinte;
+    private final TipoRefeicao tipoRefeicao;
+    private final String nome;
+    private final TipoPrato tipoPrato;
+    private final boolean publicado;
+
+    private Alteracao(long sequencia, TipoAlteracao tipo, LocalDate data, LocalDate dataFim, long idItem,
+                      Long idItemSeguinte, TipoRefeicao tipoRefeicao, String nome, TipoPrato tipoPrato, boolean publicado) {
+        this.sequencia = sequencia;
+        this.tipo = tipo;
+        this.data = data;
+        this.dataFim = dataFim;
+        this.idItem = idItem;
+        this.idItemSeguinte = idItemSeguinte;
+        this.tipoRefeicao = tipoRefeicao;
+        this.nome = nome;
+        this.tipoPrato = tipoPrato;
+        this.publicado = publicado;
+    }
+
+    public static Alteracao itemAdicionado(long sequencia, LocalDate data, ItemCardapio item) {
+        return new Alteracao(sequencia, TipoAlteracao.ITEM_ADICIONADO, data, null, item.getId(), null,
+                item.getTipo(), item.getNome(), item.getTipoPrato(), false);
+    }
+
+    public static Alteracao itemRemovido(long sequencia, LocalDate data, long idItem) {
+        return new Alteracao(sequencia, TipoAlteracao.ITEM_REMOVIDO, data, null, idItem, null, null, null, null, false);
+    }
+
+    public static Alteracao itemRenomeado(long sequencia, LocalDate data, long idItem, String nome) {
+        return new Alteracao(sequencia, TipoAlteracao.ITEM_RENOMEADO, data, null, idItem, null, null, nome, null, false);
+    }
+
+    public static Alteracao itemMovido(long sequencia, LocalDate data, long idItem, TipoRefeicao destino) {
+        return new Alteracao(sequencia, TipoAlteracao.ITEM_MOVIDO, data, null, idItem, null, destino, null, null, false);
+    }
+
+    public static Alteracao itemReordenado(long sequencia, LocalDate data, long idItem, Long idItemSeguinte) {
+        return new Alteracao(sequencia, TipoAlteracao.ITEM_REORDENADO, data, null, idItem, idItemSeguinte, null, null, null, false);
+    }
+
+    public static Alteracao publicacao(long sequencia, LocalDate data, boolean publicado) {
+        return new Alteracao(sequencia, TipoAlteracao.PUBLICACAO, data, null, 0, null, null, null, null, publicado);
+    }
+
+    public static Alteracao intervalo(long sequencia, TipoAlteracao tipo, LocalDate inicio, LocalDate fim) {
+        return new Alteracao(sequencia, tipo, inicio, fim, 0, null, null, null, null, false);
+    }
+
+    public long getSequencia() { return sequencia; }
+    public TipoAlteracao getTipo() { return tipo; }
+    public LocalDate getData() { return data; }
+    public LocalDate getDataFim() { return dataFim; }
+    public long getIdItem() { return idItem; }
+    public Long getIdItemSeguinte() { return idItemSeguinte; }
+    public TipoRefeicao getTipoRefeicao() { return tipoRefeicao; }
+    public String getNome() { return nome; }
+    public TipoPrato getTipoPrato() { return tipoPrato; }
+    public boolean isPublicado() { return publicado; }
+}
@@ -0,0 +1,32 @@
+package Model;
+
+import java.time.LocalDate;
+
+/**
+ * Registro de um ModeloCardapio aplicado a um intervalo de datas [inicio, fim].
+ * Guardar só o registro permite planejar um semestre inteiro sem criar nenhum
+ * CardapioDiario: os dias são materializados sob demanda pelo ControleRU.
+ */
+public class AplicacaoModelo {
+    private final ModeloCardapio modelo;
+    private final LocalDate inicio;
+    private final LocalDate fim;
+
+    public AplicacaoModelo(ModeloCardapio modelo, LocalDate inicio, LocalDate fim) {
+        this.modelo = modelo;
+        this.inicio = inicio;
+        this.fim = fim;
+    }
+
+    public ModeloCardapio getModelo() { return modelo; }
+    public LocalDate getInicio() { return inicio; }
+    public LocalDate getFim() { return fim; }
+
+    /**
+     * @param data data a verificar
+     * @return true se a data está dentro do intervalo da aplicação
+     */
+    public boolean cobre(LocalDate data) {
+        return !data.isBefore(inicio) && !data.isAfter(fim);
+    }
+}
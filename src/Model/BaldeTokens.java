@@ -0,0 +1,43 @@
+package Model;
+
+/**
+ * Balde de tokens (token bucket) para limitar a taxa de requisições.
+ * O balde começa cheio, é reabastecido continuamente na taxa configurada e cada
+ * requisição consome um token; sem tokens, a requisição deve ser recusada.
+ */
+public class BaldeTokens {
+    private final double capacidade;
+    private final double tokensPorNano;
+    private double tokens;
+    private long ultimaRecarga;
+
+    /**
+     * @param capacidade quantidade máxima de tokens (tamanho da rajada permitida)
+     * @param tokensPorSegundo taxa de reabastecimento
+     */
+    public BaldeTokens(double capacidade, double tokensPorSegundo) {
+        if (capacidade <= 0 || tokensPorSegundo <= 0) {
+            throw new IllegalArgumentException("Capacidade e taxa do balde devem ser positivas!");
+        }
+        this.capacidade = capacidade;
+        this.tokensPorNano = tokensPorSegundo / 1_000_000_000.0;
+        this.tokens = capacidade;
+        this.ultimaRecarga = System.nanoTime();
+    }
+
+    /**
+     * Tenta consumir um token.
+     * @return 0 se o token foi consumido, ou quantos milissegundos faltam para haver um token disponível
+     */
+    public synchronized long tentarConsumir() {
+        long agora = System.nanoTime();
+        tokens = Math.min(capacidade, tokens + (agora - ultimaRecarga) * tokensPorNano);
+        ultimaRecarga = agora;
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPorNano / 1_000_000));
+    }
+}
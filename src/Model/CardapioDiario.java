@@ -1,33 +1,35 @@
 package Model;
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Representa o cardápio de um dia específico do RU
  * Cada cardápio possui:
  * - uma data
  * - status de publicação
- * - lista de itens para o Almoço
- * - lista de itens para o Jantar
+ * - itens para o Almoço
+ * - itens para o Jantar
+ * Os itens de cada refeição ficam em um ItensRefeicao, indexado por ID, por ordem e por nome.
  */
 public class CardapioDiario {
     private LocalDate data; // data do cardápio
     private boolean publicado; // indica se o cardapio está disponível para o usuário
 
-    private List<ItemCardapio> itensAlmoco = new ArrayList<>(); // itens da refeição almoço
-    private List<ItemCardapio> itensJantar = new ArrayList<>(); // itens da refeição almoço
+    private final Map<TipoRefeicao, ItensRefeicao> refeicoes = new EnumMap<>(TipoRefeicao.class); // itens de cada refeição
 
     /**
      * Construtor para criar um cardápio vazio para uma data
-     * As listas são inicializadas aqui para evitar NullPointerException
+     * Os itens de cada refeição são inicializados aqui para evitar NullPointerException
      * @param data data do cardápio
      */
     public CardapioDiario (LocalDate data) {
         this.data = data;
         this.publicado = false;
-        this.itensAlmoco = new ArrayList<>();
-        this.itensJantar = new ArrayList<>();
+        for (TipoRefeicao tipo : TipoRefeicao.values()) {
+            refeicoes.put(tipo, new ItensRefeicao());
+        }
     }
 
     public LocalDate getData() {
@@ -40,27 +42,152 @@ public class CardapioDiario {
         this.publicado = publicado;
     }
 
+    /**
+     * @return nova lista com os itens do almoço, na ordem de exibição
+     */
     public List <ItemCardapio> getItensAlmoco() {
-        return itensAlmoco;
+        return refeicoes.get(TipoRefeicao.ALMOCO).listar();
     }
+
+    /**
+     * @return nova lista com os itens do jantar, na ordem de exibição
+     */
     public List <ItemCardapio> getItensJantar() {
-        return itensJantar;
+        return refeicoes.get(TipoRefeicao.JANTAR).listar();
     }
 
     /**
-     * Adiciona um item ao cardápio, colocando-o automaticamente na lista certa de acordo com o tipo de refeição
+     * @param tipo tipo da refeição
+     * @return itens (indexados) da refeição
+     */
+    public ItensRefeicao getItens (TipoRefeicao tipo) {
+        return refeicoes.get(tipo);
+    }
+
+    /**
+     * @return true se nenhuma refeição possui itens
+     */
+    public boolean isVazio () {
+        for (ItensRefeicao itens : refeicoes.values()) {
+            if (!itens.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return quantidade total de itens (almoço + jantar)
+     */
+    public int getQuantidadeItens () {
+        int quantidade = 0;
+        for (ItensRefeicao itens : refeicoes.values()) {
+            quantidade += itens.tamanho();
+        }
+        return quantidade;
+    }
+
+    /**
+     * Adiciona um item ao cardápio, colocando-o automaticamente na refeição certa de acordo com o tipo de refeição
      * @param item item a ser adicionado
+     * @throws IllegalArgumentException se a refeição já tiver um prato com o mesmo nome
      */
     public void addItem (ItemCardapio item) {
-        if (item.getTipo() == TipoRefeicao.ALMOCO) {
-            itensAlmoco.add(item);
-        } else {
-            itensJantar.add(item);
+        refeicoes.get(item.getTipo()).adicionar(item);
+    }
+
+    /**
+     * Remove o item do cardápio, qualquer que seja a refeição
+     * @param id ID do item
+     * @return item removido ou null se ele não estava neste cardápio
+     */
+    public ItemCardapio removeItem (long id) {
+        for (ItensRefeicao itens : refeicoes.values()) {
+            ItemCardapio removido = itens.remover(id);
+            if (removido != null) {
+                return removido;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca um item do cardápio pelo ID
+     * @param id ID do item
+     * @return o item ou null se ele não estiver neste cardápio
+     */
+    public ItemCardapio getItem (long id) {
+        for (ItensRefeicao itens : refeicoes.values()) {
+            ItemCardapio item = itens.obter(id);
+            if (item != null) {
+                return item;
+            }
         }
+        return null;
     }
 
-    public void removeItem (long id) {
-        itensAlmoco.removeIf(it -> it.getId() == id);
-        itensJantar.removeIf(it -> it.getId() == id);
+    /**
+     * Altera o nome de um item, mantendo sua refeição e posição
+     * @param id ID do item
+     * @param novoNome novo nome do prato
+     * @throws IllegalArgumentException se o item não existir ou se o nome já for usado na refeição
+     */
+    public void renomearItem (long id, String novoNome) {
+        refeicoes.get(buscarItem(id).getTipo()).renomear(id, novoNome);
+    }
+
+    /**
+     * Move um item para o fim de outra refeição (ex: do almoço para o jantar)
+     * @param id ID do item
+     * @param destino refeição de destino
+     * @throws IllegalArgumentException se o item não existir ou se o destino já tiver um prato com o mesmo nome
+     */
+    public void moverItem (long id, TipoRefeicao destino) {
+        ItemCardapio item = buscarItem(id);
+        TipoRefeicao origem = item.getTipo();
+        if (origem == destino) {
+            return;
+        }
+        if (refeicoes.get(destino).contemNome(item.getNome())) {
+            throw new IllegalArgumentException("Já existe um prato chamado \"" + item.getNome() + "\" nesta refeição!");
+        }
+
+        refeicoes.get(origem).remover(id);
+        item.setTipo(destino);
+        refeicoes.get(destino).adicionar(item);
+    }
+
+    /**
+     * Muda a posição de um item dentro da sua refeição
+     * @param id ID do item
+     * @param idSeguinte ID do item que ficará logo depois dele, ou null para mover para o fim
+     * @throws IllegalArgumentException se os itens não existirem ou forem de refeições diferentes
+     */
+    public void reordenarItem (long id, Long idSeguinte) {
+        refeicoes.get(buscarItem(id).getTipo()).reordenar(id, idSeguinte);
+    }
+
+    /**
+     * Cria uma cópia independente deste cardápio (os itens também são copiados),
+     * que pode ser lida por outra thread sem risco de ser alterada no meio da leitura
+     * @return cópia do cardápio
+     */
+    public CardapioDiario copiar () {
+        CardapioDiario copia = new CardapioDiario(data);
+        copia.publicado = publicado;
+        for (ItensRefeicao itens : refeicoes.values()) {
+            for (ItemCardapio item : itens.listar()) {
+                copia.addItem(new ItemCardapio(item.getId(), item.getTipo(), item.getNome(), item.getTipoPrato()));
+            }
+        }
+        return copia;
+    }
+
+    private ItemCardapio buscarItem (long id) {
+        ItemCardapio item = getItem(id);
+        if (item == null) {
+            throw new IllegalArgumentException("Item com ID " + id + " não encontrado!");
+        }
+        return item;
     }
 }
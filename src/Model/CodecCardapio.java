@@ -0,0 +1,707 @@
+package Model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Codificador/decodificador de CardapioDiario escrito à mão, em dois formatos:
+ * - JSON, escrito direto em um OutputStream e lido de um InputStream (streaming)
+ * - binário compacto, escrito e lido de um ByteBuffer
+ *
+ * Para não pesar na CPU e no coletor de lixo em horários de pico, a codificação não cria
+ * Strings intermediárias: os trechos fixos do JSON e os nomes dos enums já ficam
+ * pré-codificados em bytes, e números, datas e nomes de pratos são convertidos para
+ * bytes UTF-8 diretamente em um buffer interno reaproveitado.
+ *
+ * Formato JSON (o mesmo lido por lerJson):
+ * {"data":"2025-03-10","publicado":true,"almoco":[{"id":1,"nome":"Arroz","tipoPrato":"ACOMPANHAMENTO"}],"jantar":[]}
+ * Na leitura, chaves desconhecidas (no cardápio ou nos itens) são ignoradas, para que arquivos
+ * gerados por uma versão mais nova continuem legíveis.
+ *
+ * Formato binário (versão 1): versão (1 byte), dia epoch (int), publicado (1 byte) e, para cada
+ * TipoRefeicao na ordem do enum, a quantidade de itens (int) seguida de cada item:
+ * id (long), ordinal do TipoPrato (1 byte), tamanho do nome em bytes UTF-8 (int) e o nome.
+ * Como o binário usa os ordinais dos enums, mudar a ordem de TipoRefeicao/TipoPrato exige nova versão.
+ *
+ * Cada instância guarda buffers internos e NÃO é thread-safe: use uma instância por thread.
+ */
+public class CodecCardapio {
+
+    private static final byte VERSAO_BINARIO = 1;
+    private static final int TAMANHO_BUFFER = 8192;
+
+    private static final TipoRefeicao[] REFEICOES = TipoRefeicao.values();
+    private static final TipoPrato[] PRATOS = TipoPrato.values();
+
+    // Trechos fixos do JSON, já em bytes
+    private static final byte[] ABRE_DATA = ascii("{\"data\":\"");
+    private static final byte[] PUBLICADO_SIM = ascii("\",\"publicado\":true");
+    private static final byte[] PUBLICADO_NAO = ascii("\",\"publicado\":false");
+    private static final byte[] ABRE_ID = ascii("{\"id\":");
+    private static final byte[] ABRE_NOME = ascii(",\"nome\":\"");
+    private static final byte[] ABRE_TIPO_PRATO = ascii("\",\"tipoPrato\":");
+
+    // Chaves do JSON usadas na leitura
+    private static final char[] CHAVE_DATA = "data".toCharArray();
+    private static final char[] CHAVE_PUBLICADO = "publicado".toCharArray();
+    private static final char[] CHAVE_ID = "id".toCharArray();
+    private static final char[] CHAVE_NOME = "nome".toCharArray();
+    private static final char[] CHAVE_TIPO_PRATO = "tipoPrato".toCharArray();
+
+    /** ,"almoco":[  e  ,"jantar":[  (indexado pelo ordinal de TipoRefeicao) */
+    private static final byte[][] ABRE_REFEICAO = new byte[REFEICOES.length][];
+    private static final char[][] CHAVE_REFEICAO = new char[REFEICOES.length][];
+
+    /** "PRINCIPAL", "VEGETARIANO"... com aspas (indexado pelo ordinal de TipoPrato) */
+    private static final byte[][] NOME_PRATO = new byte[PRATOS.length][];
+    private static final char[][] CHAVE_PRATO = new char[PRATOS.length][];
+
+    static {
+        for (TipoRefeicao refeicao : REFEICOES) {
+            String chave = refeicao.name().toLowerCase(Locale.ROOT);
+            ABRE_REFEICAO[refeicao.ordinal()] = ascii(",\"" + chave + "\":[");
+            CHAVE_REFEICAO[refeicao.ordinal()] = chave.toCharArray();
+        }
+        for (TipoPrato prato : PRATOS) {
+            NOME_PRATO[prato.ordinal()] = ascii("\"" + prato.name() + "\"");
+            CHAVE_PRATO[prato.ordinal()] = prato.name().toCharArray();
+        }
+    }
+
+    // Escrita: buffer de saída reaproveitado entre chamadas
+    private final byte[] saida = new byte[TAMANHO_BUFFER];
+    private int posicaoSaida;
+    private OutputStream destino;
+
+    // Leitura: buffer de entrada e texto decodificado reaproveitados entre chamadas
+    private final byte[] entrada = new byte[TAMANHO_BUFFER];
+    private int posicaoEntrada;
+    private int fimEntrada;
+    private InputStream origem;
+    private char[] texto = new char[64];
+    private int tamanhoTexto;
+
+    // ==================== JSON: escrita ====================
+
+    /**
+     * Escreve o cardápio em JSON no stream. O stream não é fechado.
+     * @param cardapio cardápio a ser escrito
+     * @param out stream de destino
+     * @throws IOException se a escrita no stream falhar
+     */
+    public void escreverJson(CardapioDiario cardapio, OutputStream out) throws IOException {
+        destino = out;
+        posicaoSaida = 0;
+        try {
+            escrever(ABRE_DATA);
+            escreverData(cardapio.getData());
+            escrever(cardapio.isPublicado() ? PUBLICADO_SIM : PUBLICADO_NAO);
+
+            for (TipoRefeicao refeicao : REFEICOES) {
+                escrever(ABRE_REFEICAO[refeicao.ordinal()]);
+                boolean primeiro = true;
+                for (ItemCardapio item : cardapio.getItens(refeicao).valores()) {
+                    if (!primeiro) {
+                        escreverByte(',');
+                    }
+                    primeiro = false;
+                    escrever(ABRE_ID);
+                    escreverNumero(item.getId());
+                    escrever(ABRE_NOME);
+                    escreverTextoJson(item.getNome());
+                    escrever(ABRE_TIPO_PRATO);
+                    escrever(NOME_PRATO[item.getTipoPrato().ordinal()]);
+                    escreverByte('}');
+                }
+                escreverByte(']');
+            }
+            escreverByte('}');
+            descarregar();
+        } finally {
+            destino = null;
+        }
+    }
+
+    private void escrever(byte[] bytes) throws IOException {
+        if (posicaoSaida + bytes.length > saida.length) {
+            descarregar();
+        }
+        System.arraycopy(bytes, 0, saida, posicaoSaida, bytes.length);
+        posicaoSaida += bytes.length;
+    }
+
+    private void escreverByte(int b) throws IOException {
+        if (posicaoSaida == saida.length) {
+            descarregar();
+        }
+        saida[posicaoSaida++] = (byte) b;
+    }
+
+    private void descarregar() throws IOException {
+        destino.write(saida, 0, posicaoSaida);
+        posicaoSaida = 0;
+    }
+
+    private void escreverNumero(long numero) throws IOException {
+        if (numero == Long.MIN_VALUE) {
+            escrever(ascii(Long.toString(numero)));
+            return;
+        }
+        if (numero < 0) {
+            escreverByte('-');
+            numero = -numero;
+        }
+        // No máximo 19 dígitos: garante espaço e escreve de trás para frente
+        if (posicaoSaida + 19 > saida.length) {
+            descarregar();
+        }
+        int digitos = 1;
+        for (long resto = numero / 10; resto > 0; resto /= 10) {
+            digitos++;
+        }
+        for (int i = posicaoSaida + digitos - 1; i >= posicaoSaida; i--) {
+            saida[i] = (byte) ('0' + numero % 10);
+            numero /= 10;
+        }
+        posicaoSaida += digitos;
+    }
+
+    private void escreverData(LocalDate data) throws IOException {
+        escreverDigitos(data.getYear(), 4);
+        escreverByte('-');
+        escreverDigitos(data.getMonthValue(), 2);
+        escreverByte('-');
+        escreverDigitos(data.getDayOfMonth(), 2);
+    }
+
+    private void escreverDigitos(int valor, int quantidade) throws IOException {
+        for (int divisor = (int) Math.pow(10, quantidade - 1); divisor > 0; divisor /= 10) {
+            escreverByte('0' + (valor / divisor) % 10);
+        }
+    }
+
+    /**
+     * Escreve o texto com os escapes do JSON, convertendo cada caractere direto para UTF-8.
+     */
+    private void escreverTextoJson(String valor) throws IOException {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"' || c == '\\') {
+                escreverByte('\\');
+                escreverByte(c);
+            } else if (c < 0x20) {
+                escreverControle(c);
+            } else if (c < 0x80) {
+                escreverByte(c);
+            } else if (c < 0x800) {
+                escreverByte(0xC0 | (c >> 6));
+                escreverByte(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < valor.length() && Character.isLowSurrogate(valor.charAt(i + 1))) {
+                int codigo = Character.toCodePoint(c, valor.charAt(++i));
+                escreverByte(0xF0 | (codigo >> 18));
+                escreverByte(0x80 | ((codigo >> 12) & 0x3F));
+                escreverByte(0x80 | ((codigo >> 6) & 0x3F));
+                escreverByte(0x80 | (codigo & 0x3F));
+            } else {
+                escreverByte(0xE0 | (c >> 12));
+                escreverByte(0x80 | ((c >> 6) & 0x3F));
+                escreverByte(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void escreverControle(char c) throws IOException {
+        escreverByte('\\');
+        switch (c) {
+            case '\n': escreverByte('n'); break;
+            case '\r': escreverByte('r'); break;
+            case '\t': escreverByte('t'); break;
+            case '\b': escreverByte('b'); break;
+            case '\f': escreverByte('f'); break;
+            default:
+                escreverByte('u');
+                escreverByte('0');
+                escreverByte('0');
+                escreverByte(Character.forDigit(c >> 4, 16));
+                escreverByte(Character.forDigit(c & 0xF, 16));
+        }
+    }
+
+    // ==================== JSON: leitura ====================
+
+    /**
+     * Lê um cardápio em JSON do stream, byte a byte, sem carregar o documento inteiro.
+     * Aceita espaços entre os elementos e as chaves em qualquer ordem.
+     * @param in stream de origem (não é fechado)
+     * @return cardápio lido
+     * @throws IOException se a leitura falhar ou o JSON for inválido
+     */
+    public CardapioDiario lerJson(InputStream in) throws IOException {
+        origem = in;
+        posicaoEntrada = 0;
+        fimEntrada = 0;
+        try {
+            LocalDate data = null;
+            boolean publicado = false;
+            List<ItemCardapio> itens = new ArrayList<>();
+
+            esperar('{');
+            if (!consumirSe('}')) {
+                do {
+                    lerTexto();
+                    esperar(':');
+                    if (textoIgual(CHAVE_DATA)) {
+                        lerTexto();
+                        data = converterData();
+                    } else if (textoIgual(CHAVE_PUBLICADO)) {
+                        publicado = lerBooleano();
+                    } else {
+                        TipoRefeicao refeicao = refeicaoDaChave();
+                        if (refeicao != null) {
+                            lerItens(refeicao, itens);
+                        } else {
+                            pularValor();
+                        }
+                    }
+                } while (consumirSe(','));
+                esperar('}');
+            }
+
+            if (data == null) {
+                throw erro("campo \"data\" ausente");
+            }
+            CardapioDiario cardapio = new CardapioDiario(data);
+            cardapio.setPublicado(publicado);
+            for (ItemCardapio item : itens) {
+                cardapio.addItem(item);
+            }
+            return cardapio;
+        } finally {
+            origem = null;
+        }
+    }
+
+    private void lerItens(TipoRefeicao refeicao, List<ItemCardapio> itens) throws IOException {
+        esperar('[');
+        if (consumirSe(']')) {
+            return;
+        }
+        do {
+            long id = 0;
+            String nome = null;
+            TipoPrato tipoPrato = null;
+
+            esperar('{');
+            do {
+                lerTexto();
+                esperar(':');
+                if (textoIgual(CHAVE_ID)) {
+                    id = lerNumero();
+                } else if (textoIgual(CHAVE_NOME)) {
+                    lerTexto();
+                    nome = new String(texto, 0, tamanhoTexto);
+                } else if (textoIgual(CHAVE_TIPO_PRATO)) {
+                    lerTexto();
+                    tipoPrato = pratoDoTexto();
+                } else {
+                    pularValor();
+                }
+            } while (consumirSe(','));
+            esperar('}');
+
+            if (nome == null || tipoPrato == null) {
+                throw erro("item sem nome ou tipoPrato");
+            }
+            itens.add(new ItemCardapio(id, refeicao, nome, tipoPrato));
+        } while (consumirSe(','));
+        esperar(']');
+    }
+
+    private int proximoByte() throws IOException {
+        if (posicaoEntrada == fimEntrada) {
+            fimEntrada = origem.read(entrada, 0, entrada.length);
+            posicaoEntrada = 0;
+            if (fimEntrada <= 0) {
+                fimEntrada = 0;
+                throw erro("fim inesperado");
+            }
+        }
+        return entrada[posicaoEntrada++] & 0xFF;
+    }
+
+    private int espiarSemEspacos() throws IOException {
+        while (true) {
+            int b = proximoByte();
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                posicaoEntrada--; // devolve o byte (ele ainda está no buffer)
+                return b;
+            }
+        }
+    }
+
+    private boolean consumirSe(char esperado) throws IOException {
+        if (espiarSemEspacos() == esperado) {
+            posicaoEntrada++;
+            return true;
+        }
+        return false;
+    }
+
+    private void esperar(char esperado) throws IOException {
+        if (!consumirSe(esperado)) {
+            throw erro("esperado '" + esperado + "'");
+        }
+    }
+
+    /**
+     * Lê e descarta um valor JSON qualquer (texto, número, booleano, null, objeto ou lista).
+     */
+    private void pularValor() throws IOException {
+        int primeiro = espiarSemEspacos();
+        if (primeiro == '"') {
+            lerTexto();
+        } else if (primeiro == '{') {
+            posicaoEntrada++;
+            if (!consumirSe('}')) {
+                do {
+                    lerTexto();
+                    esperar(':');
+                    pularValor();
+                } while (consumirSe(','));
+                esperar('}');
+            }
+        } else if (primeiro == '[') {
+            posicaoEntrada++;
+            if (!consumirSe(']')) {
+                do {
+                    pularValor();
+                } while (consumirSe(','));
+                esperar(']');
+            }
+        } else if (primeiro == 't' || primeiro == 'f') {
+            lerBooleano();
+        } else if (primeiro == 'n') {
+            for (char c : "null".toCharArray()) {
+                if (proximoByte() != c) {
+                    throw erro("valor inválido");
+                }
+            }
+        } else {
+            // Número: aceita também fração e expoente, que o cardápio não usa
+            boolean algum = false;
+            while (true) {
+                int b = proximoByte();
+                if ((b < '0' || b > '9') && b != '-' && b != '+' && b != '.' && b != 'e' && b != 'E') {
+                    posicaoEntrada--;
+                    break;
+                }
+                algum = true;
+            }
+            if (!algum) {
+                throw erro("valor inválido");
+            }
+        }
+    }
+
+    private boolean lerBooleano() throws IOException {
+        int primeiro = espiarSemEspacos();
+        char[] palavra = primeiro == 't' ? "true".toCharArray() : "false".toCharArray();
+        for (char c : palavra) {
+            if (proximoByte() != c) {
+                throw erro("booleano inválido");
+            }
+        }
+        return primeiro == 't';
+    }
+
+    private long lerNumero() throws IOException {
+        boolean negativo = consumirSe('-');
+        // Acumula em negativo, como Long.parseLong, para aceitar também Long.MIN_VALUE
+        long numero = 0;
+        int digitos = 0;
+        try {
+            while (true) {
+                int b = proximoByte();
+                if (b < '0' || b > '9') {
+                    posicaoEntrada--;
+                    break;
+                }
+                numero = Math.subtractExact(Math.multiplyExact(numero, 10), b - '0');
+                digitos++;
+            }
+            if (digitos == 0) {
+                throw erro("número inválido");
+            }
+            return negativo ? numero : Math.negateExact(numero);
+        } catch (ArithmeticException e) {
+            throw erro("número fora do intervalo de long");
+        }
+    }
+
+    /**
+     * Lê uma string JSON para o buffer "texto", decodificando escapes e UTF-8.
+     */
+    private void lerTexto() throws IOException {
+        esperar('"');
+        tamanhoTexto = 0;
+        while (true) {
+            int b = proximoByte();
+            if (b == '"') {
+                return;
+            }
+            if (b == '\\') {
+                adicionarChar(lerEscape());
+            } else if (b < 0x80) {
+                adicionarChar((char) b);
+            } else if ((b & 0xE0) == 0xC0) {
+                adicionarChar((char) (((b & 0x1F) << 6) | continuacao()));
+            } else if ((b & 0xF0) == 0xE0) {
+                adicionarChar((char) (((b & 0x0F) << 12) | (continuacao() << 6) | continuacao()));
+            } else if ((b & 0xF8) == 0xF0) {
+                int codigo = ((b & 0x07) << 18) | (continuacao() << 12) | (continuacao() << 6) | continuacao();
+                adicionarChar(Character.highSurrogate(codigo));
+                adicionarChar(Character.lowSurrogate(codigo));
+            } else {
+                throw erro("UTF-8 inválido");
+            }
+        }
+    }
+
+    private int continuacao() throws IOException {
+        int b = proximoByte();
+        if ((b & 0xC0) != 0x80) {
+            throw erro("UTF-8 inválido");
+        }
+        return b & 0x3F;
+    }
+
+    private char lerEscape() throws IOException {
+        int b = proximoByte();
+        switch (b) {
+            case '"': return '"';
+            case '\\': return '\\';
+            case '/': return '/';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'u':
+                int codigo = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digito = Character.digit(proximoByte(), 16);
+                    if (digito < 0) {
+                        throw erro("escape \\u inválido");
+                    }
+                    codigo = (codigo << 4) | digito;
+                }
+                return (char) codigo;
+            default:
+                throw erro("escape inválido");
+        }
+    }
+
+    private void adicionarChar(char c) {
+        if (tamanhoTexto == texto.length) {
+            char[] maior = new char[texto.length * 2];
+            System.arraycopy(texto, 0, maior, 0, tamanhoTexto);
+            texto = maior;
+        }
+        texto[tamanhoTexto++] = c;
+    }
+
+    private boolean textoIgual(char[] esperado) {
+        if (esperado.length != tamanhoTexto) {
+            return false;
+        }
+        for (int i = 0; i < tamanhoTexto; i++) {
+            if (texto[i] != esperado[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return refeição cuja chave é o texto lido, ou null se a chave for desconhecida
+     */
+    private TipoRefeicao refeicaoDaChave() {
+        for (TipoRefeicao refeicao : REFEICOES) {
+            if (textoIgual(CHAVE_REFEICAO[refeicao.ordinal()])) {
+                return refeicao;
+            }
+        }
+        return null;
+    }
+
+    private TipoPrato pratoDoTexto() throws IOException {
+        for (TipoPrato prato : PRATOS) {
+            if (textoIgual(CHAVE_PRATO[prato.ordinal()])) {
+                return prato;
+            }
+        }
+        throw erro("tipoPrato desconhecido \"" + new String(texto, 0, tamanhoTexto) + "\"");
+    }
+
+    /**
+     * Converte o texto lido (yyyy-MM-dd) em data sem criar String.
+     */
+    private LocalDate converterData() throws IOException {
+        if (tamanhoTexto != 10 || texto[4] != '-' || texto[7] != '-') {
+            throw erro("data inválida");
+        }
+        return LocalDate.of(digitos(0, 4), digitos(5, 2), digitos(8, 2));
+    }
+
+    private int digitos(int inicio, int quantidade) throws IOException {
+        int valor = 0;
+        for (int i = inicio; i < inicio + quantidade; i++) {
+            if (texto[i] < '0' || texto[i] > '9') {
+                throw erro("data inválida");
+            }
+            valor = valor * 10 + (texto[i] - '0');
+        }
+        return valor;
+    }
+
+    private IOException erro(String motivo) {
+        return new IOException("JSON de cardápio inválido: " + motivo);
+    }
+
+    // ==================== Binário ====================
+
+    /**
+     * Calcula quantos bytes o cardápio ocupa no formato binário (para dimensionar o ByteBuffer).
+     * @param cardapio cardápio a ser medido
+     * @return tamanho em bytes
+     */
+    public static int tamanhoBinario(CardapioDiario cardapio) {
+        int tamanho = 1 + 4 + 1;
+        for (TipoRefeicao refeicao : REFEICOES) {
+            tamanho += 4;
+            for (ItemCardapio item : cardapio.getItens(refeicao).valores()) {
+                tamanho += 8 + 1 + 4 + tamanhoUtf8(item.getNome());
+            }
+        }
+        return tamanho;
+    }
+
+    /**
+     * Escreve o cardápio no formato binário a partir da posição atual do buffer.
+     * @param cardapio cardápio a ser escrito
+     * @param buffer buffer de destino (deve ter pelo menos tamanhoBinario(cardapio) bytes livres)
+     * @throws java.nio.BufferOverflowException se não houver espaço no buffer
+     */
+    public void escreverBinario(CardapioDiario cardapio, ByteBuffer buffer) {
+        buffer.put(VERSAO_BINARIO);
+        buffer.putInt(Math.toIntExact(cardapio.getData().toEpochDay()));
+        buffer.put((byte) (cardapio.isPublicado() ? 1 : 0));
+
+        for (TipoRefeicao refeicao : REFEICOES) {
+            ItensRefeicao itens = cardapio.getItens(refeicao);
+            buffer.putInt(itens.tamanho());
+            for (ItemCardapio item : itens.valores()) {
+                buffer.putLong(item.getId());
+                buffer.put((byte) item.getTipoPrato().ordinal());
+                String nome = item.getNome();
+                buffer.putInt(tamanhoUtf8(nome));
+                escreverUtf8(nome, buffer);
+            }
+        }
+    }
+
+    /**
+     * Lê um cardápio no formato binário a partir da posição atual do buffer.
+     * @param buffer buffer de origem
+     * @return cardápio lido
+     * @throws IllegalArgumentException se a versão ou algum valor for inválido
+     * @throws java.nio.BufferUnderflowException se o buffer terminar antes do cardápio
+     */
+    public CardapioDiario lerBinario(ByteBuffer buffer) {
+        byte versao = buffer.get();
+        if (versao != VERSAO_BINARIO) {
+            throw new IllegalArgumentException("Versão de cardápio binário não suportada: " + versao);
+        }
+        CardapioDiario cardapio = new CardapioDiario(LocalDate.ofEpochDay(buffer.getInt()));
+        cardapio.setPublicado(buffer.get() != 0);
+
+        for (TipoRefeicao refeicao : REFEICOES) {
+            int quantidade = buffer.getInt();
+            for (int i = 0; i < quantidade; i++) {
+                long id = buffer.getLong();
+                int ordinal = buffer.get();
+                if (ordinal < 0 || ordinal >= PRATOS.length) {
+                    throw new IllegalArgumentException("TipoPrato inválido: " + ordinal);
+                }
+                String nome = lerUtf8(buffer, buffer.getInt());
+                cardapio.addItem(new ItemCardapio(id, refeicao, nome, PRATOS[ordinal]));
+            }
+        }
+        return cardapio;
+    }
+
+    private static int tamanhoUtf8(String valor) {
+        int tamanho = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c < 0x80) {
+                tamanho += 1;
+            } else if (c < 0x800) {
+                tamanho += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < valor.length() && Character.isLowSurrogate(valor.charAt(i + 1))) {
+                tamanho += 4;
+                i++;
+            } else {
+                tamanho += 3;
+            }
+        }
+        return tamanho;
+    }
+
+    private static void escreverUtf8(String valor, ByteBuffer buffer) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < valor.length() && Character.isLowSurrogate(valor.charAt(i + 1))) {
+                int codigo = Character.toCodePoint(c, valor.charAt(++i));
+                buffer.put((byte) (0xF0 | (codigo >> 18)));
+                buffer.put((byte) (0x80 | ((codigo >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codigo >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codigo & 0x3F)));
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private String lerUtf8(ByteBuffer buffer, int tamanho) {
+        if (tamanho < 0 || tamanho > buffer.remaining()) {
+            throw new IllegalArgumentException("Tamanho de nome inválido: " + tamanho);
+        }
+        if (buffer.hasArray()) {
+            String valor = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), tamanho, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + tamanho);
+            return valor;
+        }
+        byte[] bytes = tamanho <= entrada.length ? entrada : new byte[tamanho];
+        buffer.get(bytes, 0, tamanho);
+        return new String(bytes, 0, tamanho, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ascii(String valor) {
+        return valor.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,183 @@
+package Model;
+
+import java.util.Properties;
+
+/**
+ * Fotografia imutável das configurações da aplicação.
+ * Uma nova instância é criada a cada recarga do arquivo de configuração, então quem
+ * guarda uma referência sempre enxerga um conjunto de valores consistente.
+ */
+public final class Configuracao {
+
+    // Chaves usadas no arquivo de configuração
+    static final String LINK_BOLETO = "link.boleto";
+    static final String TAMANHO_POOL = "pool.tamanho";
+    static final String INTERVALO_FLUSH_MS = "flush.intervalo.ms";
+    static final String ANTECEDENCIA_AQUECIMENTO_MS = "agendador.aquecimento.ms";
+    static final String TAXA_CLIENTE = "admissao.cliente.taxa";
+    static final String RAJADA_CLIENTE = "admissao.cliente.rajada";
+    static final String TAXA_ENDPOINT = "admissao.endpoint.taxa";
+    static final String CONCORRENCIA_MAXIMA = "admissao.concorrencia.max";
+    static final String TAMANHO_FILA = "admissao.fila.tamanho";
+    static final String ESPERA_FILA_MS = "admissao.fila.espera.ms";
+    static final String CAPACIDADE_ALTERACOES = "alteracoes.capacidade";
+    static final String PORTA_SERVIDOR = "servidor.porta";
+    static final String JANELA_QUIOSQUE_DIAS = "quiosque.janela.dias";
+
+    private final String linkBoleto;
+    private final int tamanhoPool;
+    private final long intervaloFlushMs;
+    private final long antecedenciaAquecimentoMs;
+    private final int taxaCliente;
+    private final int rajadaCliente;
+    private final int taxaEndpoint;
+    private final int concorrenciaMaxima;
+    private final int tamanhoFila;
+    private final long esperaFilaMs;
+    private final int capacidadeAlteracoes;
+    private final int portaServidor;
+    private final int janelaQuiosqueDias;
+
+    private Configuracao(Properties props) {
+        this.linkBoleto = props.getProperty(LINK_BOLETO);
+        this.tamanhoPool = lerInt(props, TAMANHO_POOL, Runtime.getRuntime().availableProcessors());
+        this.intervaloFlushMs = lerLong(props, INTERVALO_FLUSH_MS, 500);
+        this.antecedenciaAquecimentoMs = lerLong(props, ANTECEDENCIA_AQUECIMENTO_MS, 5 * 60 * 1000);
+        this.taxaCliente = lerInt(props, TAXA_CLIENTE, 5);
+        this.rajadaCliente = lerInt(props, RAJADA_CLIENTE, 20);
+        this.taxaEndpoint = lerInt(props, TAXA_ENDPOINT, 2000);
+        this.concorrenciaMaxima = lerInt(props, CONCORRENCIA_MAXIMA, 64);
+        this.tamanhoFila = lerInt(props, TAMANHO_FILA, 128);
+        this.esperaFilaMs = lerLong(props, ESPERA_FILA_MS, 50);
+        this.capacidadeAlteracoes = lerInt(props, CAPACIDADE_ALTERACOES, 10_000);
+        this.portaServidor = lerInt(props, PORTA_SERVIDOR, 8080);
+        this.janelaQuiosqueDias = lerInt(props, JANELA_QUIOSQUE_DIAS, 7);
+    }
+
+    /**
+     * Cria a configuração a partir das propriedades lidas do arquivo.
+     * Chaves ausentes assumem o valor padrão.
+     * @param props propriedades do arquivo
+     * @return nova configuração
+     * @throws IllegalArgumentException se algum valor numérico for inválido
+     */
+    public static Configuracao deProperties(Properties props) {
+        return new Configuracao(props);
+    }
+
+    /**
+     * @return configuração com todos os valores padrão
+     */
+    public static Configuracao padrao() {
+        return new Configuracao(new Properties());
+    }
+
+    /**
+     * Converte a configuração de volta para propriedades (usado ao gravar o arquivo)
+     * @return propriedades equivalentes a esta configuração
+     */
+    public Properties paraProperties() {
+        Properties props = new Properties();
+        if (linkBoleto != null) {
+            props.setProperty(LINK_BOLETO, linkBoleto);
+        }
+        props.setProperty(TAMANHO_POOL, String.valueOf(tamanhoPool));
+        props.setProperty(INTERVALO_FLUSH_MS, String.valueOf(intervaloFlushMs));
+        props.setProperty(ANTECEDENCIA_AQUECIMENTO_MS, String.valueOf(antecedenciaAquecimentoMs));
+        props.setProperty(TAXA_CLIENTE, String.valueOf(taxaCliente));
+        props.setProperty(RAJADA_CLIENTE, String.valueOf(rajadaCliente));
+        props.setProperty(TAXA_ENDPOINT, String.valueOf(taxaEndpoint));
+        props.setProperty(CONCORRENCIA_MAXIMA, String.valueOf(concorrenciaMaxima));
+        props.setProperty(TAMANHO_FILA, String.valueOf(tamanhoFila));
+        props.setProperty(ESPERA_FILA_MS, String.valueOf(esperaFilaMs));
+        props.setProperty(CAPACIDADE_ALTERACOES, String.valueOf(capacidadeAlteracoes));
+        props.setProperty(PORTA_SERVIDOR, String.valueOf(portaServidor));
+        props.setProperty(JANELA_QUIOSQUE_DIAS, String.valueOf(janelaQuiosqueDias));
+        return props;
+    }
+
+    /**
+     * @param linkBoleto novo link do boleto
+     * @return cópia desta configuração com o link alterado
+     */
+    public Configuracao comLinkBoleto(String linkBoleto) {
+        Properties props = paraProperties();
+        if (linkBoleto == null) {
+            props.remove(LINK_BOLETO);
+        } else {
+            props.setProperty(LINK_BOLETO, linkBoleto);
+        }
+        return new Configuracao(props);
+    }
+
+    /** @return link do boleto exibido para o usuário (pode ser nulo) */
+    public String getLinkBoleto() { return linkBoleto; }
+
+    /** @return quantidade de threads do pool do ServidorCardapio (aplicada sem reiniciar) */
+    public int getTamanhoPool() { return tamanhoPool; }
+
+    /** @return intervalo, em ms, para agrupar gravações antes de enviá-las ao disco */
+    public long getIntervaloFlushMs() { return intervaloFlushMs; }
+
+    /** @return quanto tempo, em ms, antes de uma publicação agendada os caches são aquecidos */
+    public long getAntecedenciaAquecimentoMs() { return antecedenciaAquecimentoMs; }
+
+    /** @return leituras por segundo permitidas para cada cliente */
+    public int getTaxaCliente() { return taxaCliente; }
+
+    /** @return rajada máxima de leituras de um cliente (capacidade do balde) */
+    public int getRajadaCliente() { return rajadaCliente; }
+
+    /** @return leituras por segundo permitidas em cada operação, somando todos os clientes */
+    public int getTaxaEndpoint() { return taxaEndpoint; }
+
+    /** @return teto do limite adaptativo de leituras simultâneas */
+    public int getConcorrenciaMaxima() { return concorrenciaMaxima; }
+
+    /** @return quantidade máxima de leituras esperando por uma vaga */
+    public int getTamanhoFila() { return tamanhoFila; }
+
+    /** @return tempo máximo, em ms, que uma leitura espera na fila antes de ser recusada */
+    public long getEsperaFilaMs() { return esperaFilaMs; }
+
+    /** @return quantidade de alterações recentes guardadas para sincronização incremental */
+    public int getCapacidadeAlteracoes() { return capacidadeAlteracoes; }
+
+    /** @return porta HTTP do modo servidor (lida só na inicialização) */
+    public int getPortaServidor() { return portaServidor; }
+
+    /** @return quantos dias antes e depois de hoje o quiosque guarda em cache local */
+    public int getJanelaQuiosqueDias() { return janelaQuiosqueDias; }
+
+    private static int lerInt(Properties props, String chave, int padrao) {
+        String valor = props.getProperty(chave);
+        if (valor == null) {
+            return padrao;
+        }
+        try {
+            int numero = Integer.parseInt(valor.trim());
+            if (numero <= 0) {
+                throw new IllegalArgumentException("O valor de '" + chave + "' deve ser positivo!");
+            }
+            return numero;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para '" + chave + "': " + valor);
+        }
+    }
+
+    private static long lerLong(Properties props, String chave, long padrao) {
+        String valor = props.getProperty(chave);
+        if (valor == null) {
+            return padrao;
+        }
+        try {
+            long numero = Long.parseLong(valor.trim());
+            if (numero < 0) {
+                throw new IllegalArgumentException("O valor de '" + chave + "' não pode ser negativo!");
+            }
+            return numero;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para '" + chave + "': " + valor);
+        }
+    }
+}
@@ -1,28 +1,74 @@
 package Model;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
 /**
  * Responsável por armazenar configurações globais do sistema, como o link do boleto do RU
  * Implementa o padrão Singleton, o que garante que exista só uma instância dessa classe em toda a aplicação
+ *
+ * As configurações são lidas de um arquivo .properties (por padrão "ru.properties", ou o caminho
+ * informado na propriedade de sistema "ru.config") e publicadas como uma Configuracao imutável
+ * em uma única referência volatile: ler a configuração é só ler essa referência.
+ * Quando o arquivo é alterado em disco, ele é recarregado e os ouvintes são avisados.
  */
 
 public class ConfiguracoesAplicacao {
 
     /**
      * Instancia única da classe (Singleton)
-     * É estática para ser compartilhada por toda a aplicação
+     * Fica em uma classe interna para ser criada só no primeiro acesso, sem corrida entre threads
      */
-    private static ConfiguracoesAplicacao instancia;
+    private static class Holder {
+        private static final ConfiguracoesAplicacao INSTANCIA =
+                new ConfiguracoesAplicacao(Path.of(System.getProperty("ru.config", "ru.properties")));
+    }
 
-    /**
-     * Link do boleto utilizado na tela do usuário
-     */
-    private String linkBoleto;
+    /** Tempo sem novos eventos no arquivo antes de recarregá-lo */
+    private static final long ESPERA_ESTABILIZAR_MS = 100;
+
+    /** Arquivo de onde as configurações são lidas */
+    private final Path arquivo;
+
+    /** Configuração atual; trocada inteira a cada recarga */
+    private volatile Configuracao atual;
+
+    /** Ações avisadas sempre que uma nova configuração é publicada */
+    private final List<Consumer<Configuracao>> ouvintes = new CopyOnWriteArrayList<>();
+
+    private Thread monitor;
 
     /**
      * Contrutor privado para impedir que outras classes criem novas instâncias de ConfiguracoesAplicacao
      * O acesso deve ser feito pelo método getInstacia()
      */
-    private ConfiguracoesAplicacao() {
+    private ConfiguracoesAplicacao(Path arquivo) {
+        this.arquivo = arquivo;
+        Configuracao inicial;
+        try {
+            inicial = lerArquivo();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Configuração inválida em " + arquivo + ", usando valores padrão: " + e.getMessage());
+            inicial = Configuracao.padrao();
+        }
+        this.atual = inicial;
     }
 
     /**
@@ -30,10 +76,24 @@ public class ConfiguracoesAplicacao {
      * @return instância única de ConfiguracoesAplicacao
      */
     public static ConfiguracoesAplicacao getInstancia() {
-        if (instancia == null) {
-            instancia = new ConfiguracoesAplicacao();
-        }
-        return instancia;
+        return Holder.INSTANCIA;
+    }
+
+    /**
+     * Retorna a configuração vigente. Componentes que precisam acompanhar mudanças
+     * devem chamar este método a cada uso, em vez de guardar os valores.
+     * @return fotografia imutável da configuração atual
+     */
+    public Configuracao getAtual() {
+        return atual;
+    }
+
+    /**
+     * Registra uma ação chamada sempre que uma nova configuração for publicada
+     * @param ouvinte ação que recebe a nova configuração
+     */
+    public void adicionarOuvinte(Consumer<Configuracao> ouvinte) {
+        ouvintes.add(Objects.requireNonNull(ouvinte, "Ouvinte não pode ser nulo."));
     }
 
     /**
@@ -41,14 +101,110 @@ public class ConfiguracoesAplicacao {
      * @return link do boleto do RU
      */
     public String getLinkBoleto() {
-        return linkBoleto;
+        return atual.getLinkBoleto();
     }
 
     /**
-     * Define o link do boleto que será exibido para o usuário
+     * Define o link do boleto que será exibido para o usuário e grava no arquivo de configuração
      * @param linkBoleto novo link do boleto
      */
-    public void setLinkBoleto(String linkBoleto) {
-        this.linkBoleto = linkBoleto;
+    public synchronized void setLinkBoleto(String linkBoleto) {
+        Configuracao nova = atual.comLinkBoleto(linkBoleto);
+        try {
+            gravarArquivo(nova);
+        } catch (IOException e) {
+            System.err.println("Não foi possível gravar " + arquivo + ": " + e.getMessage());
+        }
+        publicar(nova);
+    }
+
+    /**
+     * Começa a monitorar o arquivo de configuração com um WatchService, recarregando-o
+     * a cada alteração. Chamadas repetidas não criam novos monitores.
+     * @throws IOException se não for possível registrar o monitoramento da pasta
+     */
+    public synchronized void iniciarMonitoramento() throws IOException {
+        if (monitor != null) {
+            return;
+        }
+        Path pasta = arquivo.toAbsolutePath().getParent();
+        WatchService watchService = FileSystems.getDefault().newWatchService();
+        pasta.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+
+        monitor = new Thread(() -> monitorar(watchService), "monitor-configuracao");
+        monitor.setDaemon(true);
+        monitor.start();
+    }
+
+    /**
+     * Relê o arquivo e publica a nova configuração. Se o arquivo estiver inválido,
+     * a configuração anterior é mantida.
+     */
+    public synchronized void recarregar() {
+        try {
+            publicar(lerArquivo());
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Configuração inválida em " + arquivo + ", mantendo a anterior: " + e.getMessage());
+        }
+    }
+
+    private void monitorar(WatchService watchService) {
+        Path nomeArquivo = arquivo.getFileName();
+        try (watchService) {
+            while (true) {
+                WatchKey chave = watchService.take();
+                boolean alterado = false;
+                // Editores costumam gravar em várias etapas (truncar, escrever...): espera os
+                // eventos pararem de chegar antes de reler, para não publicar um arquivo pela metade
+                while (chave != null) {
+                    for (WatchEvent<?> evento : chave.pollEvents()) {
+                        if (nomeArquivo.equals(evento.context())) {
+                            alterado = true;
+                        }
+                    }
+                    chave.reset();
+                    chave = watchService.poll(ESPERA_ESTABILIZAR_MS, TimeUnit.MILLISECONDS);
+                }
+                if (alterado) {
+                    recarregar();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Monitoramento de " + arquivo + " encerrado: " + e.getMessage());
+        }
+    }
+
+    private void publicar(Configuracao nova) {
+        atual = nova;
+        for (Consumer<Configuracao> ouvinte : ouvintes) {
+            ouvinte.accept(nova);
+        }
+    }
+
+    private Configuracao lerArquivo() throws IOException {
+        Properties props = new Properties();
+        if (Files.exists(arquivo)) {
+            try (Reader leitor = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+                props.load(leitor);
+            }
+        }
+        return Configuracao.deProperties(props);
+    }
+
+    /**
+     * Grava em um arquivo temporário e move sobre o original, para que o monitor
+     * nunca leia um arquivo pela metade.
+     */
+    private void gravarArquivo(Configuracao configuracao) throws IOException {
+        Path pasta = arquivo.toAbsolutePath().getParent();
+        Path temporario = Files.createTempFile(pasta, arquivo.getFileName().toString(), ".tmp");
+        try (Writer escritor = Files.newBufferedWriter(temporario, StandardCharsets.UTF_8)) {
+            configuracao.paraProperties().store(escritor, "Configurações do Sistema RU");
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
     }
 }
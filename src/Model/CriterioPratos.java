@@ -0,0 +1,112 @@
+package Model;
+
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Critério de busca de dias pelo tipo dos pratos servidos, avaliado pelo IndiceBitmapPratos.
+ * Critérios simples são combinados com e(), ou() e nao(), por exemplo:
+ *
+ *   tem(JANTAR, VEGETARIANO)                          dias com jantar vegetariano
+ *   tem(ALMOCO, SOPA).e(tem(ALMOCO, SALADA))          dias com sopa e salada no almoço
+ *   publicado().e(tem(ALMOCO, SOBREMESA).nao())       dias publicados sem sobremesa no almoço
+ *
+ * Os critérios são imutáveis e podem ser reaproveitados em várias consultas.
+ */
+public final class CriterioPratos {
+
+    /** Calcula o bitmap do critério no trecho [de, ate] do índice (bit 0 = dia "de") */
+    private interface Avaliacao {
+        BitSet avaliar(IndiceBitmapPratos indice, int de, int ate);
+    }
+
+    private final Avaliacao avaliacao;
+    private final String descricao;
+
+    private CriterioPratos(Avaliacao avaliacao, String descricao) {
+        this.avaliacao = avaliacao;
+        this.descricao = descricao;
+    }
+
+    /**
+     * @param refeicao refeição
+     * @param prato tipo de prato
+     * @return critério atendido pelos dias em que a refeição tem algum prato do tipo
+     * @throws NullPointerException se algum parâmetro for nulo
+     */
+    public static CriterioPratos tem(TipoRefeicao refeicao, TipoPrato prato) {
+        Objects.requireNonNull(refeicao, "Tipo não pode ser nulo.");
+        Objects.requireNonNull(prato, "Tipo de prato não pode ser nulo.");
+        return new CriterioPratos((indice, de, ate) -> indice.trecho(refeicao, prato, de, ate), refeicao + ":" + prato);
+    }
+
+    /**
+     * @param prato tipo de prato
+     * @return critério atendido pelos dias em que alguma refeição tem um prato do tipo
+     * @throws NullPointerException se prato for nulo
+     */
+    public static CriterioPratos tem(TipoPrato prato) {
+        CriterioPratos criterio = null;
+        for (TipoRefeicao refeicao : TipoRefeicao.values()) {
+            criterio = criterio == null ? tem(refeicao, prato) : criterio.ou(tem(refeicao, prato));
+        }
+        return criterio;
+    }
+
+    /**
+     * @return critério atendido pelos dias com cardápio publicado
+     */
+    public static CriterioPratos publicado() {
+        return new CriterioPratos(IndiceBitmapPratos::trechoPublicados, "PUBLICADO");
+    }
+
+    /**
+     * @param outro critério que também deve ser atendido
+     * @return critério atendido quando este e o outro são atendidos
+     */
+    public CriterioPratos e(CriterioPratos outro) {
+        Objects.requireNonNull(outro, "Critério não pode ser nulo.");
+        return new CriterioPratos((indice, de, ate) -> {
+            BitSet bits = avaliar(indice, de, ate);
+            bits.and(outro.avaliar(indice, de, ate));
+            return bits;
+        }, "(" + descricao + " E " + outro.descricao + ")");
+    }
+
+    /**
+     * @param outro critério alternativo
+     * @return critério atendido quando este ou o outro é atendido
+     */
+    public CriterioPratos ou(CriterioPratos outro) {
+        Objects.requireNonNull(outro, "Critério não pode ser nulo.");
+        return new CriterioPratos((indice, de, ate) -> {
+            BitSet bits = avaliar(indice, de, ate);
+            bits.or(outro.avaliar(indice, de, ate));
+            return bits;
+        }, "(" + descricao + " OU " + outro.descricao + ")");
+    }
+
+    /**
+     * @return critério atendido pelos dias que NÃO atendem a este
+     */
+    public CriterioPratos nao() {
+        return new CriterioPratos((indice, de, ate) -> {
+            BitSet bits = avaliar(indice, de, ate);
+            bits.flip(0, ate - de + 1);
+            return bits;
+        }, "NÃO " + descricao);
+    }
+
+    /**
+     * Avalia o critério no trecho [de, ate] (posições de dia do índice).
+     * @return bitmap novo, que pode ser alterado por quem chamou
+     */
+    BitSet avaliar(IndiceBitmapPratos indice, int de, int ate) {
+        return avaliacao.avaliar(indice, de, ate);
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
@@ -0,0 +1,27 @@
+package Model;
+
+/**
+ * Representa um prato dentro de um ModeloCardapio.
+ * Diferente do ItemCardapio, a entrada não possui ID: o ID só é gerado
+ * pelo ControleRU quando o dia é materializado em um CardapioDiario.
+ */
+public class EntradaModelo {
+    private final TipoRefeicao tipo;
+    private final String nome;
+    private final TipoPrato tipoPrato;
+
+    /**
+     * @param tipo Tipo da refeição (Almoço ou Jantar)
+     * @param nome Nome do prato
+     * @param tipoPrato Categoria do prato (ex: Principal, Salada)
+     */
+    public EntradaModelo(TipoRefeicao tipo, String nome, TipoPrato tipoPrato) {
+        this.tipo = tipo;
+        this.nome = nome;
+        this.tipoPrato = tipoPrato;
+    }
+
+    public TipoRefeicao getTipo() { return tipo; }
+    public String getNome() { return nome; }
+    public TipoPrato getTipoPrato() { return tipoPrato; }
+}
@@ -0,0 +1,146 @@
+package Model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Índice em bitmaps de quais tipos de prato cada refeição tem em cada dia.
+ *
+ * Há um BitSet para cada par (TipoRefeicao, TipoPrato) e um para os dias publicados;
+ * o bit de um dia é a quantidade de dias entre PRIMEIRA_DATA e ele. Cada bitmap ocupa
+ * um bit por dia (menos de 1 KB por década), e uma consulta como "dias com sopa e salada no
+ * almoço" vira um AND entre dois trechos de bitmap, sem ler nenhum CardapioDiario.
+ *
+ * O índice é atualizado dia a dia pelo ControleRU depois de cada alteração. Dias de modelos
+ * ainda não materializados também são indexados (como não publicados), a partir das entradas
+ * do modelo. Datas anteriores a PRIMEIRA_DATA não são indexadas.
+ *
+ * Os métodos são sincronizados: as consultas podem vir de outra thread que não a das alterações.
+ */
+public class IndiceBitmapPratos {
+
+    /** Data correspondente ao bit 0 */
+    public static final LocalDate PRIMEIRA_DATA = LocalDate.of(2000, 1, 1);
+
+    private static final long DIA_BASE = PRIMEIRA_DATA.toEpochDay();
+    private static final TipoRefeicao[] REFEICOES = TipoRefeicao.values();
+    private static final TipoPrato[] PRATOS = TipoPrato.values();
+
+    /** pratos[refeição][tipo de prato]: bit ligado = a refeição tem o tipo de prato naquele dia */
+    private final BitSet[][] pratos = new BitSet[REFEICOES.length][PRATOS.length];
+    private final BitSet publicados = new BitSet();
+
+    public IndiceBitmapPratos() {
+        for (BitSet[] porRefeicao : pratos) {
+            for (int i = 0; i < porRefeicao.length; i++) {
+                porRefeicao[i] = new BitSet();
+            }
+        }
+    }
+
+    /**
+     * Reindexa um dia a partir do cardápio armazenado.
+     * @param cardapio cardápio do dia
+     */
+    public synchronized void atualizar(CardapioDiario cardapio) {
+        int dia = posicao(cardapio.getData());
+        if (dia < 0) {
+            return;
+        }
+        limparDia(dia);
+        for (TipoRefeicao refeicao : REFEICOES) {
+            for (ItemCardapio item : cardapio.getItens(refeicao).valores()) {
+                pratos[refeicao.ordinal()][item.getTipoPrato().ordinal()].set(dia);
+            }
+        }
+        publicados.set(dia, cardapio.isPublicado());
+    }
+
+    /**
+     * Reindexa um dia ainda não materializado a partir das entradas do modelo que o cobre
+     * (o dia fica como não publicado, assim como será quando for materializado).
+     * @param data data do dia
+     * @param entradas entradas do modelo para a data
+     */
+    public synchronized void atualizar(LocalDate data, List<EntradaModelo> entradas) {
+        int dia = posicao(data);
+        if (dia < 0) {
+            return;
+        }
+        limparDia(dia);
+        for (EntradaModelo entrada : entradas) {
+            pratos[entrada.getTipo().ordinal()][entrada.getTipoPrato().ordinal()].set(dia);
+        }
+    }
+
+    /**
+     * Remove um dia do índice (a data ficou sem cardápio).
+     * @param data data do dia
+     */
+    public synchronized void remover(LocalDate data) {
+        int dia = posicao(data);
+        if (dia >= 0) {
+            limparDia(dia);
+        }
+    }
+
+    /**
+     * Lista os dias do intervalo que atendem ao critério.
+     * @param criterio critério de busca
+     * @param inicio primeira data do intervalo (inclusive)
+     * @param fim última data do intervalo (inclusive)
+     * @return datas encontradas, em ordem cronológica
+     * @throws IllegalArgumentException se fim for anterior a inicio ou se inicio for anterior a PRIMEIRA_DATA
+     * @throws NullPointerException se qualquer parâmetro for nulo
+     */
+    public synchronized List<LocalDate> consultar(CriterioPratos criterio, LocalDate inicio, LocalDate fim) {
+        Objects.requireNonNull(criterio, "Critério não pode ser nulo.");
+        Objects.requireNonNull(inicio, "Data de início não pode ser nula.");
+        Objects.requireNonNull(fim, "Data de fim não pode ser nula.");
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("A data final não pode ser anterior à data inicial!");
+        }
+        if (inicio.isBefore(PRIMEIRA_DATA)) {
+            throw new IllegalArgumentException("Só há dados a partir de " + PRIMEIRA_DATA + "!");
+        }
+
+        int de = posicao(inicio);
+        BitSet encontrados = criterio.avaliar(this, de, posicao(fim));
+
+        List<LocalDate> datas = new ArrayList<>(encontrados.cardinality());
+        for (int i = encontrados.nextSetBit(0); i >= 0; i = encontrados.nextSetBit(i + 1)) {
+            datas.add(inicio.plusDays(i));
+        }
+        return datas;
+    }
+
+    /** @return cópia do trecho [de, ate] do bitmap do par (refeição, prato), com o bit 0 = dia "de" */
+    BitSet trecho(TipoRefeicao refeicao, TipoPrato prato, int de, int ate) {
+        return pratos[refeicao.ordinal()][prato.ordinal()].get(de, ate + 1);
+    }
+
+    /** @return cópia do trecho [de, ate] do bitmap de dias publicados, com o bit 0 = dia "de" */
+    BitSet trechoPublicados(int de, int ate) {
+        return publicados.get(de, ate + 1);
+    }
+
+    private void limparDia(int dia) {
+        for (BitSet[] porRefeicao : pratos) {
+            for (BitSet bits : porRefeicao) {
+                bits.clear(dia);
+            }
+        }
+        publicados.clear(dia);
+    }
+
+    /**
+     * @return posição do dia nos bitmaps, ou -1 se a data for anterior a PRIMEIRA_DATA
+     */
+    private static int posicao(LocalDate data) {
+        long dia = data.toEpochDay() - DIA_BASE;
+        return dia < 0 ? -1 : Math.toIntExact(dia);
+    }
+}
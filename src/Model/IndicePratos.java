@@ -0,0 +1,227 @@
+package Model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice de nomes de pratos para sugestões de autocompletar, separado por TipoPrato.
+ *
+ * Para cada tipo de prato há uma árvore de prefixos (trie) sobre o nome normalizado
+ * (sem acentos e em minúsculas, ver ItensRefeicao.normalizarNome). Cada nó da árvore guarda
+ * as MAXIMO_SUGESTOES melhores entradas abaixo dele, então uma consulta só desce pelo prefixo
+ * e devolve a lista pronta, sem percorrer a subárvore.
+ *
+ * A relevância de um prato combina frequência (quantos itens com esse nome existem) com
+ * recência (a data de cardápio mais recente em que ele apareceu), contada em dias a partir
+ * de ORIGEM_RECENCIA: cada DIAS_POR_USO dias mais recente vale tanto quanto um uso a mais.
+ * Assim um prato servido um trimestre depois de outro compensa um uso a menos, mas a
+ * frequência continua decidindo entre pratos habituais e pratos servidos uma vez: um prato
+ * usado 100 vezes há três anos fica à frente de um usado uma única vez ontem (a diferença
+ * de recência equivale a ~12 usos). Entre pratos com a mesma frequência, o mais recente vem
+ * primeiro. Só a diferença entre as datas importa; a origem fixa apenas mantém os valores
+ * pequenos. Como a relevância não depende do dia atual, as listas guardadas nos nós não
+ * envelhecem e só mudam quando o índice é alterado; nesse caso apenas os nós do caminho do
+ * nome alterado são recalculados.
+ *
+ * Os métodos são sincronizados: as consultas podem vir de outra thread que não a das alterações.
+ */
+public class IndicePratos {
+
+    /** Quantidade de sugestões guardadas em cada nó (e máximo devolvido por consulta) */
+    public static final int MAXIMO_SUGESTOES = 10;
+
+    /** Dias de recência que equivalem a um uso a mais na relevância */
+    static final double DIAS_POR_USO = 90.0;
+
+    /** Data a partir da qual a recência é contada (datas anteriores contam negativo) */
+    static final LocalDate ORIGEM_RECENCIA = LocalDate.of(2024, 1, 1);
+
+    /** Um nome de prato indexado */
+    private static class Entrada {
+        final String chave;
+        String nome;
+        int quantidade;
+        long ultimoDia;
+        double relevancia;
+
+        Entrada(String chave) {
+            this.chave = chave;
+        }
+
+        void atualizarRelevancia() {
+            relevancia = quantidade + (ultimoDia - ORIGEM_RECENCIA.toEpochDay()) / DIAS_POR_USO;
+        }
+    }
+
+    private static final Comparator<Entrada> POR_RELEVANCIA = Comparator
+            .comparingDouble((Entrada e) -> -e.relevancia)
+            .thenComparing(e -> e.chave);
+
+    private static class No {
+        final Map<Character, No> filhos = new HashMap<>();
+        Entrada entrada;
+        List<Entrada> melhores = List.of();
+    }
+
+    private final Map<TipoPrato, No> raizes = new EnumMap<>(TipoPrato.class);
+    private final Map<TipoPrato, Map<String, Entrada>> entradas = new EnumMap<>(TipoPrato.class);
+
+    public IndicePratos() {
+        for (TipoPrato tipo : TipoPrato.values()) {
+            raizes.put(tipo, new No());
+            entradas.put(tipo, new HashMap<>());
+        }
+    }
+
+    /**
+     * Registra um uso do prato (um item com esse nome e tipo no cardápio da data).
+     * O nome exibido nas sugestões é a grafia usada no cardápio mais recente.
+     *
+     * @param nome nome do prato
+     * @param tipoPrato tipo do prato
+     * @param data data do cardápio onde o prato foi usado
+     */
+    public synchronized void adicionar(String nome, TipoPrato tipoPrato, LocalDate data) {
+        String chave = ItensRefeicao.normalizarNome(nome);
+        if (chave.isEmpty()) {
+            return;
+        }
+        Entrada entrada = entradas.get(tipoPrato).computeIfAbsent(chave, Entrada::new);
+        if (entrada.nome == null || data.toEpochDay() >= entrada.ultimoDia) {
+            entrada.nome = nome.trim();
+            entrada.ultimoDia = data.toEpochDay();
+        }
+        entrada.quantidade++;
+        entrada.atualizarRelevancia();
+
+        List<No> caminho = caminho(tipoPrato, chave, true);
+        caminho.get(caminho.size() - 1).entrada = entrada;
+        recalcular(caminho);
+    }
+
+    /**
+     * Desfaz um uso do prato (item removido ou renomeado). Quando não resta nenhum uso,
+     * o nome sai do índice. A data mais recente de uso é mantida.
+     *
+     * @param nome nome do prato
+     * @param tipoPrato tipo do prato
+     */
+    public synchronized void remover(String nome, TipoPrato tipoPrato) {
+        String chave = ItensRefeicao.normalizarNome(nome);
+        Entrada entrada = entradas.get(tipoPrato).get(chave);
+        if (entrada == null) {
+            return;
+        }
+        entrada.quantidade--;
+        entrada.atualizarRelevancia();
+
+        List<No> caminho = caminho(tipoPrato, chave, false);
+        if (entrada.quantidade <= 0) {
+            entradas.get(tipoPrato).remove(chave);
+            caminho.get(caminho.size() - 1).entrada = null;
+        }
+        recalcular(caminho);
+        podar(caminho, chave);
+    }
+
+    /**
+     * Sugere nomes de pratos que começam com o prefixo (comparado sem acentos e sem
+     * diferenciar maiúsculas), do mais para o menos relevante.
+     *
+     * @param prefixo início do nome digitado
+     * @param tipoPrato tipo do prato, ou null para considerar todos os tipos
+     * @param limite quantidade máxima de sugestões (no máximo MAXIMO_SUGESTOES)
+     * @return nomes sugeridos
+     */
+    public synchronized List<String> sugerir(String prefixo, TipoPrato tipoPrato, int limite) {
+        String chave = ItensRefeicao.normalizarNome(prefixo);
+        int quantidade = Math.min(limite, MAXIMO_SUGESTOES);
+
+        List<Entrada> candidatas;
+        if (tipoPrato != null) {
+            No no = buscar(raizes.get(tipoPrato), chave);
+            candidatas = no == null ? List.of() : no.melhores;
+        } else {
+            candidatas = new ArrayList<>();
+            for (No raiz : raizes.values()) {
+                No no = buscar(raiz, chave);
+                if (no != null) {
+                    candidatas.addAll(no.melhores);
+                }
+            }
+            candidatas.sort(POR_RELEVANCIA);
+        }
+
+        // Sem tipo, o mesmo nome pode aparecer em mais de um tipo: fica só a primeira ocorrência
+        Map<String, String> nomes = new LinkedHashMap<>();
+        for (Entrada entrada : candidatas) {
+            if (nomes.size() >= quantidade) {
+                break;
+            }
+            nomes.putIfAbsent(entrada.chave, entrada.nome);
+        }
+        return new ArrayList<>(nomes.values());
+    }
+
+    private static No buscar(No raiz, String chave) {
+        No no = raiz;
+        for (int i = 0; i < chave.length() && no != null; i++) {
+            no = no.filhos.get(chave.charAt(i));
+        }
+        return no;
+    }
+
+    /**
+     * @return nós da raiz até o nó da chave (criando os que faltarem, se pedido)
+     */
+    private List<No> caminho(TipoPrato tipoPrato, String chave, boolean criar) {
+        List<No> caminho = new ArrayList<>(chave.length() + 1);
+        No no = raizes.get(tipoPrato);
+        caminho.add(no);
+        for (int i = 0; i < chave.length(); i++) {
+            no = criar ? no.filhos.computeIfAbsent(chave.charAt(i), c -> new No()) : no.filhos.get(chave.charAt(i));
+            caminho.add(no);
+        }
+        return caminho;
+    }
+
+    /**
+     * Recalcula as melhores entradas de baixo para cima: cada nó junta a própria entrada
+     * com as listas (já calculadas) dos filhos.
+     */
+    private static void recalcular(List<No> caminho) {
+        for (int i = caminho.size() - 1; i >= 0; i--) {
+            No no = caminho.get(i);
+            List<Entrada> candidatas = new ArrayList<>();
+            if (no.entrada != null) {
+                candidatas.add(no.entrada);
+            }
+            for (No filho : no.filhos.values()) {
+                candidatas.addAll(filho.melhores);
+            }
+            candidatas.sort(POR_RELEVANCIA);
+            no.melhores = candidatas.size() > MAXIMO_SUGESTOES
+                    ? List.copyOf(candidatas.subList(0, MAXIMO_SUGESTOES))
+                    : List.copyOf(candidatas);
+        }
+    }
+
+    /**
+     * Remove do fim do caminho os nós que ficaram sem entrada e sem filhos.
+     */
+    private static void podar(List<No> caminho, String chave) {
+        for (int i = caminho.size() - 1; i > 0; i--) {
+            No no = caminho.get(i);
+            if (no.entrada != null || !no.filhos.isEmpty()) {
+                return;
+            }
+            caminho.get(i - 1).filhos.remove(chave.charAt(i - 1));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package Model;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Itens de uma refeição (almoço ou jantar) de um CardapioDiario, indexados para que
+ * buscar, remover, renomear e reordenar não precisem percorrer a lista:
+ * - porId: acha o item pelo ID em O(1)
+ * - porOrdem: mantém a ordem de exibição; cada item tem uma chave de ordem numérica
+ *   com espaço entre as chaves, então inserir entre dois itens custa O(log n)
+ * - porNome: nome normalizado -> ID, para impedir pratos repetidos na mesma refeição
+ */
+public class ItensRefeicao {
+
+    /** Espaço deixado entre as chaves de ordem de itens consecutivos */
+    private static final long ESPACO_ORDEM = 1L << 20;
+
+    /** Item guardado junto com sua chave de ordem */
+    private static class Posicao {
+        final ItemCardapio item;
+        long ordem;
+
+        Posicao(ItemCardapio item, long ordem) {
+            this.item = item;
+            this.ordem = ordem;
+        }
+    }
+
+    private final Map<Long, Posicao> porId = new HashMap<>();
+    private final TreeMap<Long, ItemCardapio> porOrdem = new TreeMap<>();
+    private final Map<String, Long> porNome = new HashMap<>();
+
+    /**
+     * Normaliza um nome de prato para comparação: sem acentos, sem espaços repetidos e em minúsculas.
+     * Assim "Feijão  Tropeiro" e "feijao tropeiro" são considerados o mesmo prato.
+     * @param nome nome do prato
+     * @return nome normalizado
+     */
+    public static String normalizarNome(String nome) {
+        String semAcentos = Normalizer.normalize(nome.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return semAcentos.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Adiciona o item no fim da refeição.
+     * @param item item a ser adicionado
+     * @throws IllegalArgumentException se já existir um item com o mesmo ID ou o mesmo nome
+     */
+    public void adicionar(ItemCardapio item) {
+        if (porId.containsKey(item.getId())) {
+            throw new IllegalArgumentException("Item com ID " + item.getId() + " já está no cardápio!");
+        }
+        verificarNomeLivre(item.getNome(), item.getId());
+
+        long ordem = porOrdem.isEmpty() ? 0 : porOrdem.lastKey() + ESPACO_ORDEM;
+        porId.put(item.getId(), new Posicao(item, ordem));
+        porOrdem.put(ordem, item);
+        porNome.put(normalizarNome(item.getNome()), item.getId());
+    }
+
+    /**
+     * Remove o item com o ID informado.
+     * @param id ID do item
+     * @return item removido ou null se ele não estava nesta refeição
+     */
+    public ItemCardapio remover(long id) {
+        Posicao posicao = porId.remove(id);
+        if (posicao == null) {
+            return null;
+        }
+        porOrdem.remove(posicao.ordem);
+        porNome.remove(normalizarNome(posicao.item.getNome()));
+        return posicao.item;
+    }
+
+    /**
+     * Altera o nome de um item, mantendo sua posição.
+     * @param id ID do item
+     * @param novoNome novo nome
+     * @throws IllegalArgumentException se o item não existir ou se o nome já for usado por outro item
+     */
+    public void renomear(long id, String novoNome) {
+        Posicao posicao = buscarPosicao(id);
+        verificarNomeLivre(novoNome, id);
+
+        porNome.remove(normalizarNome(posicao.item.getNome()));
+        posicao.item.setNome(novoNome);
+        porNome.put(normalizarNome(novoNome), id);
+    }
+
+    /**
+     * Move o item para imediatamente antes de outro item da mesma refeição.
+     * @param id ID do item a mover
+     * @param idSeguinte ID do item que ficará logo depois dele, ou null para mover para o fim
+     * @throws IllegalArgumentException se algum dos itens não estiver nesta refeição
+     */
+    public void reordenar(long id, Long idSeguinte) {
+        Posicao posicao = buscarPosicao(id);
+        if (idSeguinte != null && idSeguinte == id) {
+            return;
+        }
+        // Valida o item seguinte antes de tirar o item da ordem, para não deixar a refeição pela metade
+        if (idSeguinte != null) {
+            buscarPosicao(idSeguinte);
+        }
+        porOrdem.remove(posicao.ordem);
+
+        long novaOrdem;
+        if (idSeguinte == null) {
+            novaOrdem = porOrdem.isEmpty() ? 0 : porOrdem.lastKey() + ESPACO_ORDEM;
+        } else {
+            long ordemSeguinte = buscarPosicao(idSeguinte).ordem;
+            Long ordemAnterior = porOrdem.lowerKey(ordemSeguinte);
+            long base = ordemAnterior == null ? ordemSeguinte - 2 * ESPACO_ORDEM : ordemAnterior;
+            if (ordemSeguinte - base < 2) {
+                // Acabou o espaço entre as chaves: redistribui todas (raro, custo amortizado)
+                renumerar();
+                ordemSeguinte = buscarPosicao(idSeguinte).ordem;
+                ordemAnterior = porOrdem.lowerKey(ordemSeguinte);
+                base = ordemAnterior == null ? ordemSeguinte - 2 * ESPACO_ORDEM : ordemAnterior;
+            }
+            novaOrdem = base + (ordemSeguinte - base) / 2;
+        }
+
+        posicao.ordem = novaOrdem;
+        porOrdem.put(novaOrdem, posicao.item);
+    }
+
+    /**
+     * @param id ID do item
+     * @return o item ou null se ele não estiver nesta refeição
+     */
+    public ItemCardapio obter(long id) {
+        Posicao posicao = porId.get(id);
+        return posicao == null ? null : posicao.item;
+    }
+
+    /**
+     * @param nome nome do prato (comparado sem acentos e sem diferenciar maiúsculas)
+     * @return true se já existe um item com esse nome
+     */
+    public boolean contemNome(String nome) {
+        return porNome.containsKey(normalizarNome(nome));
+    }
+
+    /**
+     * @return nova lista com os itens na ordem de exibição
+     */
+    public List<ItemCardapio> listar() {
+        return new ArrayList<>(porOrdem.values());
+    }
+
+    /**
+     * Visão somente leitura dos itens na ordem de exibição, sem copiar a lista
+     * (para quem só precisa percorrer os itens, como o CodecCardapio).
+     * @return itens na ordem de exibição
+     */
+    public Collection<ItemCardapio> valores() {
+        return Collections.unmodifiableCollection(porOrdem.values());
+    }
+
+    public boolean isEmpty() {
+        return porId.isEmpty();
+    }
+
+    public int tamanho() {
+        return porId.size();
+    }
+
+    private Posicao buscarPosicao(long id) {
+        Posicao posicao = porId.get(id);
+        if (posicao == null) {
+            throw new IllegalArgumentException("Item com ID " + id + " não encontrado nesta refeição!");
+        }
+        return posicao;
+    }
+
+    private void verificarNomeLivre(String nome, long idItem) {
+        Long idExistente = porNome.get(normalizarNome(nome));
+        if (idExistente != null && idExistente != idItem) {
+            throw new IllegalArgumentException("Já existe um prato chamado \"" + nome.trim() + "\" nesta refeição!");
+        }
+    }
+
+    private void renumerar() {
+        List<ItemCardapio> itens = listar();
+        porOrdem.clear();
+        long ordem = 0;
+        for (ItemCardapio item : itens) {
+            porId.get(item.getId()).ordem = ordem;
+            porOrdem.put(ordem, item);
+            ordem += ESPACO_ORDEM;
+        }
+    }
+}
@@ -20,6 +20,16 @@ public class MemoriaRepositorioCardapio implements RepositorioCardapio {
         return banco.computeIfAbsent(data, k -> new CardapioDiario(k)); // Cria o cardápio automaticamente caso não exista
     }
 
+    /**
+     * Verifica se o cardápio da data já foi criado
+     * @param data data do cardapio
+     * @return true se existe cardápio para a data
+     */
+    @Override
+    public boolean contem (LocalDate data) {
+        return banco.containsKey(data);
+    }
+
     /**
      * Salva um cardapio no repositório
      * @param cardapio cardápio a ser salvo
@@ -29,6 +39,21 @@ public class MemoriaRepositorioCardapio implements RepositorioCardapio {
         banco.put(cardapio.getData(), cardapio);
     }
 
+    /**
+     * Salva e remove um lote de cardápios
+     * @param salvar cardápios a serem salvos
+     * @param remover datas a serem removidas
+     */
+    @Override
+    public void aplicarLote (Collection<CardapioDiario> salvar, Collection<LocalDate> remover) {
+        for (LocalDate data : remover) {
+            banco.remove(data);
+        }
+        for (CardapioDiario cardapio : salvar) {
+            banco.put(cardapio.getData(), cardapio);
+        }
+    }
+
     /**
      * Retorna todos os cardápios armazenados
      * @return coleção com cardápios
@@ -0,0 +1,110 @@
+package Model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Modelo de cardápio com rodízio de pratos (ex: a semana padrão do RU).
+ * O modelo possui um ciclo de N dias e cada dia do ciclo guarda sua lista de entradas.
+ * - Modelo semanal: o dia do ciclo é o dia da semana (0 = segunda ... 6 = domingo)
+ * - Modelo cíclico: o dia do ciclo é contado a partir da data de início da aplicação
+ */
+public class ModeloCardapio {
+    private final int tamanhoCiclo;
+    private final boolean semanal;
+    private final List<List<EntradaModelo>> dias;
+
+    private ModeloCardapio(int tamanhoCiclo, boolean semanal) {
+        if (tamanhoCiclo <= 0) {
+            throw new IllegalArgumentException("O ciclo do modelo deve ter pelo menos um dia!");
+        }
+        this.tamanhoCiclo = tamanhoCiclo;
+        this.semanal = semanal;
+        this.dias = new ArrayList<>(tamanhoCiclo);
+        for (int i = 0; i < tamanhoCiclo; i++) {
+            dias.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Cria um modelo semanal, em que cada dia do ciclo corresponde a um dia da semana
+     * @return modelo semanal vazio
+     */
+    public static ModeloCardapio semanal() {
+        return new ModeloCardapio(7, true);
+    }
+
+    /**
+     * Cria um modelo cíclico, que se repete a cada tamanhoCiclo dias a partir do início da aplicação
+     * @param tamanhoCiclo quantidade de dias do rodízio
+     * @return modelo cíclico vazio
+     */
+    public static ModeloCardapio ciclico(int tamanhoCiclo) {
+        return new ModeloCardapio(tamanhoCiclo, false);
+    }
+
+    /**
+     * Adiciona um prato a um dia do ciclo
+     * @param diaCiclo dia do ciclo (para modelos semanais: 0 = segunda ... 6 = domingo)
+     * @param tipo tipo da refeição
+     * @param nome nome do prato
+     * @param tipoPrato categoria do prato
+     * @throws IllegalArgumentException se o dia estiver fora do ciclo ou o prato já existir na refeição
+     */
+    public void adicionarEntrada(int diaCiclo, TipoRefeicao tipo, String nome, TipoPrato tipoPrato) {
+        Objects.requireNonNull(tipo, "Tipo não pode ser nulo.");
+        Objects.requireNonNull(nome, "Nome não pode ser nulo.");
+        Objects.requireNonNull(tipoPrato, "Tipo de prato não pode ser nulo.");
+        if (diaCiclo < 0 || diaCiclo >= tamanhoCiclo) {
+            throw new IllegalArgumentException("Dia " + diaCiclo + " fora do ciclo do modelo!");
+        }
+        // Mesma regra do CardapioDiario: sem pratos repetidos na mesma refeição
+        String normalizado = ItensRefeicao.normalizarNome(nome);
+        for (EntradaModelo entrada : dias.get(diaCiclo)) {
+            if (entrada.getTipo() == tipo && ItensRefeicao.normalizarNome(entrada.getNome()).equals(normalizado)) {
+                throw new IllegalArgumentException("Já existe um prato chamado \"" + nome.trim() + "\" nesta refeição!");
+            }
+        }
+        dias.get(diaCiclo).add(new EntradaModelo(tipo, nome, tipoPrato));
+    }
+
+    /**
+     * Retorna as entradas que o modelo define para uma data
+     * @param inicio data em que a aplicação do modelo começa (usada nos modelos cíclicos)
+     * @param data data desejada
+     * @return lista (somente leitura) de entradas do dia
+     */
+    public List<EntradaModelo> entradasPara(LocalDate inicio, LocalDate data) {
+        int indice;
+        if (semanal) {
+            indice = data.getDayOfWeek().getValue() - 1;
+        } else {
+            indice = (int) Math.floorMod(ChronoUnit.DAYS.between(inicio, data), (long) tamanhoCiclo);
+        }
+        return Collections.unmodifiableList(dias.get(indice));
+    }
+
+    /**
+     * Cria uma cópia independente do modelo (as entradas são imutáveis e podem ser compartilhadas)
+     * @return cópia do modelo
+     */
+    public ModeloCardapio copiar() {
+        ModeloCardapio copia = new ModeloCardapio(tamanhoCiclo, semanal);
+        for (int i = 0; i < tamanhoCiclo; i++) {
+            copia.dias.get(i).addAll(dias.get(i));
+        }
+        return copia;
+    }
+
+    public int getTamanhoCiclo() {
+        return tamanhoCiclo;
+    }
+
+    public boolean isSemanal() {
+        return semanal;
+    }
+}
@@ -15,12 +15,27 @@ public interface RepositorioCardapio {
      */
     CardapioDiario obter (LocalDate data);
 
+    /**
+     * Verifica se já existe um cardápio armazenado para a data, sem criá-lo
+     * @param data data desejada
+     * @return true se o cardápio da data já está armazenado
+     */
+    boolean contem (LocalDate data);
+
     /**
      * Salva ou atualiza o cardápio fornecido
      * @param cardapio cardápio a ser salvo
      */
     void salvar (CardapioDiario cardapio);
 
+    /**
+     * Aplica de uma só vez um lote de alterações: salva os cardápios informados e remove as datas informadas.
+     * Usado pelas operações em intervalo de datas, que precisam ser persistidas em um único passo.
+     * @param salvar cardápios a serem salvos ou atualizados
+     * @param remover datas cujos cardápios devem ser removidos
+     */
+    void aplicarLote (Collection<CardapioDiario> salvar, Collection<LocalDate> remover);
+
     /**
      * Devolve todos os cardápios que estão armazenados no repositório
      * @return coleção de cardápios
@@ -0,0 +1,34 @@
+package Model;
+
+import java.util.List;
+
+/**
+ * Resposta de uma consulta de alterações a partir de um cursor.
+ * - epoca: época do histórico que respondeu; deve ser guardada junto com o cursor
+ * - alteracoes: alterações posteriores ao cursor, em ordem de sequência (no máximo o limite pedido)
+ * - proximoCursor: cursor a ser usado na próxima consulta
+ * - haMais: true se ainda existem alterações depois deste lote
+ * - ressincronizar: true se o cursor é antigo demais (as alterações já foram descartadas);
+ *   nesse caso a lista vem vazia e o cliente deve recarregar os cardápios e continuar a partir de proximoCursor
+ */
+public class ResultadoAlteracoes {
+    private final long epoca;
+    private final List<Alteracao> alteracoes;
+    private final long proximoCursor;
+    private final boolean haMais;
+    private final boolean ressincronizar;
+
+    public ResultadoAlteracoes(long epoca, List<Alteracao> alteracoes, long proximoCursor, boolean haMais, boolean ressincronizar) {
+        this.epoca = epoca;
+        this.alteracoes = List.copyOf(alteracoes);
+        this.proximoCursor = proximoCursor;
+        this.haMais = haMais;
+        this.ressincronizar = ressincronizar;
+    }
+
+    public long getEpoca() { return epoca; }
+    public List<Alteracao> getAlteracoes() { return alteracoes; }
+    public long getProximoCursor() { return proximoCursor; }
+    public boolean isHaMais() { return haMais; }
+    public boolean isRessincronizar() { return ressincronizar; }
+}
@@ -0,0 +1,141 @@
+package Model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roda temporal hierárquica (hierarchical timing wheel) para agendar muitos eventos
+ * com um único relógio, em vez de um timer por evento.
+ * Cada nível possui 64 posições; uma posição do nível N cobre 64^N ticks.
+ * Inserir e vencer um evento custa O(1); um evento só é redistribuído para o nível
+ * inferior quando o relógio entra no intervalo da sua posição.
+ * Eventos além do alcance do último nível ficam na posição mais distante dele e são
+ * reinseridos a cada volta até caberem.
+ *
+ * Esta classe não é thread-safe: quem a utiliza deve sincronizar o acesso.
+ *
+ * @param <T> tipo do valor associado a cada evento
+ */
+public class RodaTemporal<T> {
+
+    private static final int BITS_POR_NIVEL = 6;
+    private static final int POSICOES = 1 << BITS_POR_NIVEL;
+    private static final int MASCARA = POSICOES - 1;
+    private static final int NIVEIS = 4;
+
+    /** Evento guardado na roda: o valor e o tick absoluto em que ele vence */
+    private static class Evento<T> {
+        final T valor;
+        final long tickAlvo;
+
+        Evento(T valor, long tickAlvo) {
+            this.valor = valor;
+            this.tickAlvo = tickAlvo;
+        }
+    }
+
+    private final long duracaoTickMs;
+    private final long origemMs;
+    private final List<ArrayDeque<Evento<T>>> posicoes;
+    private final List<T> vencidos = new ArrayList<>();
+    private long tickAtual;
+    private int tamanho;
+
+    /**
+     * @param duracaoTickMs resolução da roda em milissegundos
+     * @param origemMs instante (epoch millis) correspondente ao tick zero
+     */
+    public RodaTemporal(long duracaoTickMs, long origemMs) {
+        if (duracaoTickMs <= 0) {
+            throw new IllegalArgumentException("A duração do tick deve ser positiva!");
+        }
+        this.duracaoTickMs = duracaoTickMs;
+        this.origemMs = origemMs;
+        this.posicoes = new ArrayList<>(NIVEIS * POSICOES);
+        for (int i = 0; i < NIVEIS * POSICOES; i++) {
+            posicoes.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Agenda um valor para vencer no instante informado.
+     * Instantes já passados vencem no próximo avanço da roda.
+     * @param valor valor a ser devolvido quando o evento vencer
+     * @param instanteMs instante (epoch millis) do vencimento
+     */
+    public void agendar(T valor, long instanteMs) {
+        // Arredonda para cima: o evento nunca vence antes do instante pedido
+        long tickAlvo = Math.floorDiv(instanteMs - origemMs + duracaoTickMs - 1, duracaoTickMs);
+        inserir(new Evento<>(valor, tickAlvo));
+        tamanho++;
+    }
+
+    /**
+     * Avança o relógio até o instante informado e devolve os valores vencidos, em ordem de vencimento.
+     * @param agoraMs instante atual (epoch millis)
+     * @return lista de valores vencidos (vazia se nenhum venceu)
+     */
+    public List<T> avancarAte(long agoraMs) {
+        long tickFinal = Math.floorDiv(agoraMs - origemMs, duracaoTickMs);
+        while (tickAtual < tickFinal) {
+            tickAtual++;
+            redistribuir();
+            ArrayDeque<Evento<T>> posicao = posicao(0, tickAtual);
+            while (!posicao.isEmpty()) {
+                vencidos.add(posicao.poll().valor);
+            }
+        }
+
+        List<T> resultado = new ArrayList<>(vencidos);
+        tamanho -= vencidos.size();
+        vencidos.clear();
+        return resultado;
+    }
+
+    /**
+     * @return quantidade de eventos ainda não devolvidos
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Ao entrar em um novo intervalo de um nível superior, desce os eventos daquela posição.
+     */
+    private void redistribuir() {
+        for (int nivel = 1; nivel < NIVEIS; nivel++) {
+            if ((tickAtual & ((1L << (BITS_POR_NIVEL * nivel)) - 1)) != 0) {
+                break;
+            }
+            ArrayDeque<Evento<T>> posicao = posicao(nivel, tickAtual);
+            int quantidade = posicao.size();
+            for (int i = 0; i < quantidade; i++) {
+                inserir(posicao.poll());
+            }
+        }
+    }
+
+    private void inserir(Evento<T> evento) {
+        if (evento.tickAlvo <= tickAtual) {
+            vencidos.add(evento.valor);
+            return;
+        }
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            int deslocamento = BITS_POR_NIVEL * nivel;
+            if ((evento.tickAlvo >> deslocamento) - (tickAtual >> deslocamento) < POSICOES) {
+                posicao(nivel, evento.tickAlvo).add(evento);
+                return;
+            }
+        }
+        // Além do alcance: espera na posição mais distante do último nível
+        int deslocamento = BITS_POR_NIVEL * (NIVEIS - 1);
+        long ultimaPosicao = ((tickAtual >> deslocamento) + MASCARA) << deslocamento;
+        posicao(NIVEIS - 1, ultimaPosicao).add(evento);
+    }
+
+    private ArrayDeque<Evento<T>> posicao(int nivel, long tick) {
+        int indice = (int) ((tick >> (BITS_POR_NIVEL * nivel)) & MASCARA);
+        return posicoes.get(nivel * POSICOES + indice);
+    }
+}
@@ -0,0 +1,16 @@
+package Model;
+
+/**
+ * Enumeração dos tipos de alteração registrados no histórico de alterações do sistema.
+ * Cada Alteracao possui um desses tipos.
+ */
+public enum TipoAlteracao {
+    ITEM_ADICIONADO,
+    ITEM_REMOVIDO,
+    ITEM_RENOMEADO,
+    ITEM_MOVIDO,
+    ITEM_REORDENADO,
+    PUBLICACAO,
+    MODELO_APLICADO,
+    PERIODO_ALTERADO
+}
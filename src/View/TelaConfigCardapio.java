@@ -1,6 +1,8 @@
 package View;
 
+import Controller.AgendadorPublicacao;
 import Controller.ISistemaRU;
+import Model.AgendamentoPublicacao;
 import Model.CardapioDiario;
 import Model.ItemCardapio;
 import Model.TipoRefeicao;
@@ -9,17 +11,25 @@ import Model.TipoPrato;
 import javafx.collections.FXCollections;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.geometry.Side;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.util.Callback;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Tela de configuração do cardápio (View do Administrador).
  * Permite selecionar uma data, adicionar, remover e publicar itens
- * do almoço e jantar.
+ * do almoço e jantar, e agendar a publicação (ou despublicação) da data para um horário.
  */
 public class TelaConfigCardapio {
 
@@ -31,19 +41,38 @@ public class TelaConfigCardapio {
     private TextField novoPratoField;
     private ComboBox<TipoPrato> tipoPratoComboBox;
     private ComboBox<TipoRefeicao> tipoRefeicaoComboBox;
+    private ContextMenu sugestoesPratos;
+    private DatePicker dataAgendamentoPicker;
+    private TextField horarioAgendamentoField;
+    private ComboBox<String> acaoAgendamentoComboBox;
+    private Label agendamentosLabel;
 
     // --- Referências de Negócio ---
     private ISistemaRU controller;
+    private AgendadorPublicacao agendador;
     private CardapioDiario cardapioAtual;
 
+    private static final String ACAO_PUBLICAR = "Publicar";
+    private static final String ACAO_DESPUBLICAR = "Despublicar";
+    private static final DateTimeFormatter FORMATO_HORARIO = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter FORMATO_DIA_HORARIO = DateTimeFormatter.ofPattern("dd/MM HH:mm");
+
+    /** Quantidade de sugestões exibidas abaixo do campo de novo prato */
+    private static final int QUANTIDADE_SUGESTOES = 8;
+
+    /** Evita que escolher uma sugestão (que altera o texto) abra as sugestões de novo */
+    private boolean aplicandoSugestao;
+
     /**
      * Cria e retorna o painel (Pane) principal da tela de configuração.
      *
      * @param controller A instância do controlador do sistema (ISistemaRU) para comunicação.
+     * @param agendador Agendador usado para publicar ou despublicar a data em um horário.
      * @return Um Pane JavaFX contendo todos os componentes da tela.
      */
-    public Pane criarTela(ISistemaRU controller) {
+    public Pane criarTela(ISistemaRU controller, AgendadorPublicacao agendador) {
         this.controller = controller;
+        this.agendador = agendador;
 
         // Layout principal com estilo de "card"
         BorderPane mainLayout = new BorderPane();
@@ -64,6 +93,16 @@ public class TelaConfigCardapio {
         tipoPratoComboBox.getSelectionModel().selectFirst();
         tipoPratoComboBox.getStyleClass().add("combo-box");
 
+        // Sugestões de nomes já usados, atualizadas a cada tecla e filtradas pelo tipo do prato
+        sugestoesPratos = new ContextMenu();
+        novoPratoField.textProperty().addListener((obs, antigo, novo) -> atualizarSugestoes());
+        tipoPratoComboBox.setOnAction(e -> atualizarSugestoes());
+        novoPratoField.focusedProperty().addListener((obs, antigo, focado) -> {
+            if (!focado) {
+                sugestoesPratos.hide();
+            }
+        });
+
         tipoRefeicaoComboBox = new ComboBox<>(FXCollections.observableArrayList(TipoRefeicao.values()));
         tipoRefeicaoComboBox.getSelectionModel().selectFirst();
         tipoRefeicaoComboBox.getStyleClass().add("combo-box");
@@ -81,8 +120,42 @@ public class TelaConfigCardapio {
                 checkPublicado
         );
         topControlsLayout.setAlignment(Pos.CENTER_LEFT);
-        mainLayout.setTop(topControlsLayout);
-        BorderPane.setMargin(topControlsLayout, new Insets(0, 0, 20, 0));
+
+        // Segunda linha: agendamento da publicação da data selecionada, para um dia e horário
+        dataAgendamentoPicker = new DatePicker(LocalDate.now());
+        dataAgendamentoPicker.setPrefWidth(130);
+        dataAgendamentoPicker.getStyleClass().add("date-picker");
+
+        horarioAgendamentoField = new TextField();
+        horarioAgendamentoField.setPromptText("HH:mm");
+        horarioAgendamentoField.setPrefColumnCount(5);
+        horarioAgendamentoField.getStyleClass().add("text-field");
+
+        acaoAgendamentoComboBox = new ComboBox<>(FXCollections.observableArrayList(ACAO_PUBLICAR, ACAO_DESPUBLICAR));
+        acaoAgendamentoComboBox.getSelectionModel().selectFirst();
+        acaoAgendamentoComboBox.getStyleClass().add("combo-box");
+
+        Button btnAgendar = new Button("Agendar");
+        btnAgendar.setOnAction(e -> agendarPublicacao());
+        btnAgendar.getStyleClass().add("button");
+
+        Button btnCancelarAgendamentos = new Button("Cancelar agendamentos");
+        btnCancelarAgendamentos.setOnAction(e -> cancelarAgendamentos());
+        btnCancelarAgendamentos.getStyleClass().add("button");
+
+        agendamentosLabel = new Label();
+
+        HBox agendamentoLayout = new HBox(10,
+                new Label("Agendar em:"), dataAgendamentoPicker,
+                new Label("às"), horarioAgendamentoField,
+                acaoAgendamentoComboBox, btnAgendar, btnCancelarAgendamentos,
+                agendamentosLabel
+        );
+        agendamentoLayout.setAlignment(Pos.CENTER_LEFT);
+
+        VBox topLayout = new VBox(10, topControlsLayout, agendamentoLayout);
+        mainLayout.setTop(topLayout);
+        BorderPane.setMargin(topLayout, new Insets(0, 0, 20, 0));
 
         // --- CENTRO: Listas de Itens ---
         listaAlmoco = new ListView<>();
@@ -120,7 +193,23 @@ public class TelaConfigCardapio {
         btnRemover.setOnAction(e -> removerItem());
         btnRemover.getStyleClass().addAll("button", "button-remove");
 
-        HBox bottomButtonsLayout = new HBox(10, btnAdicionar, btnRemover);
+        Button btnRenomear = new Button("Renomear");
+        btnRenomear.setOnAction(e -> renomearItem());
+        btnRenomear.getStyleClass().add("button");
+
+        Button btnMover = new Button("Mover Almoço/Jantar");
+        btnMover.setOnAction(e -> moverItem());
+        btnMover.getStyleClass().add("button");
+
+        Button btnSubir = new Button("Subir");
+        btnSubir.setOnAction(e -> reordenarItem(-1));
+        btnSubir.getStyleClass().add("button");
+
+        Button btnDescer = new Button("Descer");
+        btnDescer.setOnAction(e -> reordenarItem(1));
+        btnDescer.getStyleClass().add("button");
+
+        HBox bottomButtonsLayout = new HBox(10, btnSubir, btnDescer, btnRenomear, btnMover, btnAdicionar, btnRemover);
         bottomButtonsLayout.setAlignment(Pos.CENTER_RIGHT);
         mainLayout.setBottom(bottomButtonsLayout);
 
@@ -146,6 +235,140 @@ public class TelaConfigCardapio {
 
         // Atualiza o checkbox de publicação
         checkPublicado.setSelected(cardapioAtual.isPublicado());
+
+        atualizarAgendamentos(data);
+    }
+
+    /**
+     * Mostra os agendamentos ainda não executados da data selecionada e os que falharam.
+     * @param data A data selecionada no DatePicker.
+     */
+    private void atualizarAgendamentos(LocalDate data) {
+        List<AgendamentoPublicacao> pendentes = agendador.listarPendentes(data);
+        List<AgendamentoPublicacao> falhas = agendador.listarFalhas(data);
+        if (pendentes.isEmpty() && falhas.isEmpty()) {
+            agendamentosLabel.setText("Nenhum agendamento.");
+            agendamentosLabel.setStyle("");
+            return;
+        }
+
+        StringBuilder texto = new StringBuilder();
+        if (!pendentes.isEmpty()) {
+            texto.append("Agendado: ");
+            descreverAgendamentos(texto, pendentes);
+        }
+        if (!falhas.isEmpty()) {
+            if (texto.length() > 0) {
+                texto.append(" | ");
+            }
+            texto.append("FALHOU: ");
+            descreverAgendamentos(texto, falhas);
+        }
+        agendamentosLabel.setText(texto.toString());
+        agendamentosLabel.setStyle(falhas.isEmpty() ? "" : "-fx-text-fill: #c0392b;");
+    }
+
+    private static void descreverAgendamentos(StringBuilder texto, List<AgendamentoPublicacao> agendamentos) {
+        for (int i = 0; i < agendamentos.size(); i++) {
+            AgendamentoPublicacao agendamento = agendamentos.get(i);
+            if (i > 0) {
+                texto.append(", ");
+            }
+            texto.append(agendamento.isPublicar() ? ACAO_PUBLICAR : ACAO_DESPUBLICAR)
+                    .append(' ')
+                    .append(FORMATO_DIA_HORARIO.format(agendamento.getInstante().atZone(ZoneId.systemDefault())));
+            if (agendamento.isFalhou()) {
+                texto.append(" (").append(agendamento.getMotivoFalha()).append(')');
+            }
+        }
+    }
+
+    /**
+     * Agenda a publicação (ou despublicação) da data selecionada para o dia e horário escolhidos.
+     */
+    private void agendarPublicacao() {
+        LocalDate data = datePicker.getValue();
+        LocalDate dia = dataAgendamentoPicker.getValue();
+        String textoHorario = horarioAgendamentoField.getText();
+        if (data == null || dia == null || textoHorario == null || textoHorario.trim().isEmpty()) {
+            exibirAlerta(Alert.AlertType.WARNING, "Erro", "Selecione a data, o dia e o horário (HH:mm) do agendamento.");
+            return;
+        }
+
+        LocalTime horario;
+        try {
+            horario = LocalTime.parse(textoHorario.trim(), FORMATO_HORARIO);
+        } catch (DateTimeParseException e) {
+            exibirAlerta(Alert.AlertType.WARNING, "Erro", "Horário inválido. Use o formato HH:mm.");
+            return;
+        }
+
+        Instant instante = dia.atTime(horario).atZone(ZoneId.systemDefault()).toInstant();
+        if (!instante.isAfter(Instant.now())) {
+            exibirAlerta(Alert.AlertType.WARNING, "Erro", "O horário informado já passou.");
+            return;
+        }
+
+        boolean publicar = ACAO_PUBLICAR.equals(acaoAgendamentoComboBox.getSelectionModel().getSelectedItem());
+        try {
+            agendador.agendar(data, publicar, instante);
+            horarioAgendamentoField.clear();
+            atualizarAgendamentos(data);
+        } catch (IOException e) {
+            exibirAlerta(Alert.AlertType.ERROR, "Erro ao Agendar", "Não foi possível gravar o agendamento: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cancela os agendamentos ainda não executados da data selecionada e descarta as falhas
+     * já exibidas.
+     */
+    private void cancelarAgendamentos() {
+        LocalDate data = datePicker.getValue();
+        if (data == null) return;
+
+        try {
+            agendador.cancelar(data);
+            agendador.descartarFalhas(data);
+            atualizarAgendamentos(data);
+        } catch (IOException e) {
+            exibirAlerta(Alert.AlertType.ERROR, "Erro ao Cancelar", "Não foi possível gravar os agendamentos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Mostra abaixo do campo de novo prato os nomes já usados que começam com o texto digitado.
+     */
+    private void atualizarSugestoes() {
+        String texto = novoPratoField.getText();
+        if (aplicandoSugestao || texto == null || texto.trim().isEmpty() || !novoPratoField.isFocused()) {
+            sugestoesPratos.hide();
+            return;
+        }
+
+        TipoPrato tipoPrato = tipoPratoComboBox.getSelectionModel().getSelectedItem();
+        List<String> nomes = controller.sugerirPratos(texto, tipoPrato, QUANTIDADE_SUGESTOES);
+        // Não sugere o próprio texto já digitado por inteiro
+        nomes.removeIf(nome -> nome.equalsIgnoreCase(texto.trim()));
+        if (nomes.isEmpty()) {
+            sugestoesPratos.hide();
+            return;
+        }
+
+        sugestoesPratos.getItems().clear();
+        for (String nome : nomes) {
+            MenuItem opcao = new MenuItem(nome);
+            opcao.setOnAction(e -> {
+                aplicandoSugestao = true;
+                novoPratoField.setText(nome);
+                novoPratoField.positionCaret(nome.length());
+                aplicandoSugestao = false;
+            });
+            sugestoesPratos.getItems().add(opcao);
+        }
+        if (!sugestoesPratos.isShowing()) {
+            sugestoesPratos.show(novoPratoField, Side.BOTTOM, 0, 0);
+        }
     }
 
     /**
@@ -179,10 +402,7 @@ public class TelaConfigCardapio {
      * Remove o item selecionado (de qualquer uma das listas).
      */
     private void removerItem() {
-        ItemCardapio itemSelecionado = listaAlmoco.getSelectionModel().getSelectedItem();
-        if (itemSelecionado == null) {
-            itemSelecionado = listaJantar.getSelectionModel().getSelectedItem();
-        }
+        ItemCardapio itemSelecionado = obterItemSelecionado();
 
         if (itemSelecionado != null) {
             try {
@@ -198,6 +418,93 @@ public class TelaConfigCardapio {
         }
     }
 
+    /**
+     * Pede um novo nome para o item selecionado e chama o controlador para renomeá-lo.
+     */
+    private void renomearItem() {
+        ItemCardapio itemSelecionado = obterItemSelecionado();
+        if (itemSelecionado == null) {
+            exibirAlerta(Alert.AlertType.WARNING, "Aviso", "Nenhum item selecionado para renomear!");
+            return;
+        }
+
+        TextInputDialog dialogo = new TextInputDialog(itemSelecionado.getNome());
+        dialogo.setTitle("Renomear Item");
+        dialogo.setHeaderText(null);
+        dialogo.setContentText("Novo nome:");
+        Optional<String> novoNome = dialogo.showAndWait();
+
+        if (novoNome.isPresent() && !novoNome.get().trim().isEmpty()) {
+            try {
+                controller.renomearItem(itemSelecionado.getId(), novoNome.get().trim());
+                atualizarCardapio(datePicker.getValue());
+            } catch (IllegalArgumentException e) {
+                exibirAlerta(Alert.AlertType.ERROR, "Erro ao Renomear", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Move o item selecionado para a outra refeição (almoço <-> jantar).
+     */
+    private void moverItem() {
+        ItemCardapio itemSelecionado = obterItemSelecionado();
+        if (itemSelecionado == null) {
+            exibirAlerta(Alert.AlertType.WARNING, "Aviso", "Nenhum item selecionado para mover!");
+            return;
+        }
+
+        TipoRefeicao destino = itemSelecionado.getTipo() == TipoRefeicao.ALMOCO ? TipoRefeicao.JANTAR : TipoRefeicao.ALMOCO;
+        try {
+            controller.moverItem(itemSelecionado.getId(), destino);
+            atualizarCardapio(datePicker.getValue());
+        } catch (IllegalArgumentException e) {
+            exibirAlerta(Alert.AlertType.ERROR, "Erro ao Mover", e.getMessage());
+        }
+    }
+
+    /**
+     * Sobe ou desce o item selecionado uma posição dentro da sua refeição.
+     * @param direcao -1 para subir, 1 para descer
+     */
+    private void reordenarItem(int direcao) {
+        ListView<ItemCardapio> lista = listaAlmoco.getSelectionModel().getSelectedItem() != null ? listaAlmoco : listaJantar;
+        int indice = lista.getSelectionModel().getSelectedIndex();
+        if (indice < 0) {
+            exibirAlerta(Alert.AlertType.WARNING, "Aviso", "Nenhum item selecionado para mover!");
+            return;
+        }
+
+        List<ItemCardapio> itens = lista.getItems();
+        int novoIndice = indice + direcao;
+        if (novoIndice < 0 || novoIndice >= itens.size()) {
+            return; // Já está no topo ou no fim
+        }
+
+        // O item vai para antes do item que ficará logo depois dele (null = fim da lista)
+        int indiceSeguinte = direcao < 0 ? novoIndice : novoIndice + 1;
+        Long idSeguinte = indiceSeguinte < itens.size() ? itens.get(indiceSeguinte).getId() : null;
+        try {
+            controller.reordenarItem(itens.get(indice).getId(), idSeguinte);
+            atualizarCardapio(datePicker.getValue());
+            lista.getSelectionModel().select(novoIndice);
+        } catch (IllegalArgumentException e) {
+            exibirAlerta(Alert.AlertType.ERROR, "Erro ao Mover", e.getMessage());
+        }
+    }
+
+    /**
+     * Retorna o item selecionado em qualquer uma das listas (almoço tem prioridade).
+     * @return item selecionado ou null se nenhum estiver selecionado
+     */
+    private ItemCardapio obterItemSelecionado() {
+        ItemCardapio itemSelecionado = listaAlmoco.getSelectionModel().getSelectedItem();
+        if (itemSelecionado == null) {
+            itemSelecionado = listaJantar.getSelectionModel().getSelectedItem();
+        }
+        return itemSelecionado;
+    }
+
     /**
      * Chama o controlador para definir o status de publicação do cardápio.
      */
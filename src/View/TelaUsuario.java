@@ -1,8 +1,10 @@
 package View;
 
-import Controller.ISistemaRU;
+import Controller.CacheQuiosque;
+import Controller.SobrecargaException;
 import Model.CardapioDiario;
 import Model.ItemCardapio;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -10,7 +12,15 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.util.Callback;
 import java.time.LocalDate;
-
+import java.util.concurrent.CompletionException;
+
+/**
+ * Tela de consulta do cardápio (View do Aluno / quiosque).
+ * Os cardápios vêm do CacheQuiosque: datas dentro da janela do cache aparecem na hora e
+ * são atualizadas sozinhas quando a revalidação em segundo plano encontra mudanças;
+ * as demais são buscadas em segundo plano, sem travar a tela.
+ * A tela é montada uma única vez e reaproveitada (ver exibir()).
+ */
 public class TelaUsuario {
 
     private ListView<ItemCardapio> listaAlmoco;
@@ -18,7 +28,7 @@ public class TelaUsuario {
     private DatePicker datePicker;
     private Label lblStatus; // Para mostrar se está "Fechado" ou "Aberto"
 
-    private ISistemaRU controller;
+    private CacheQuiosque cache;
     private Runnable acaoVoltar; // Ação para o botão voltar
 
     // Construtor recebe a ação de voltar para o Menu
@@ -26,8 +36,8 @@ public class TelaUsuario {
         this.acaoVoltar = acaoVoltar;
     }
 
-    public Pane criarTela(ISistemaRU controller) {
-        this.controller = controller;
+    public Pane criarTela(CacheQuiosque cache) {
+        this.cache = cache;
 
         BorderPane mainLayout = new BorderPane();
         mainLayout.setPadding(new Insets(20));
@@ -74,20 +84,70 @@ public class TelaUsuario {
         mainLayout.setBottom(bottomLayout);
         BorderPane.setMargin(bottomLayout, new Insets(20,0,0,0));
 
+        // Quando a revalidação muda o dia exibido, atualiza a tela (na thread do JavaFX)
+        cache.adicionarOuvinte(data -> Platform.runLater(() -> {
+            if (data.equals(datePicker.getValue())) {
+                pesquisarCardapio();
+            }
+        }));
+
         // Carrega dados iniciais
         pesquisarCardapio();
 
         return mainLayout;
     }
 
+    /**
+     * Chamado sempre que a tela (já montada) volta a ser exibida:
+     * volta para a data de hoje e pede uma revalidação do cache.
+     */
+    public void exibir() {
+        if (LocalDate.now().equals(datePicker.getValue())) {
+            pesquisarCardapio();
+        } else {
+            datePicker.setValue(LocalDate.now()); // dispara pesquisarCardapio()
+        }
+        cache.revalidarEmSegundoPlano();
+    }
+
     private void pesquisarCardapio() {
         LocalDate data = datePicker.getValue();
         if (data == null) return;
 
+        // Dentro da janela do cache: mostra na hora (a revalidação avisa se mudar)
+        CardapioDiario emCache = cache.obter(data);
+        if (emCache != null) {
+            exibirCardapio(emCache);
+            return;
+        }
+
+        // Fora da janela: busca em segundo plano e mostra quando chegar
         listaAlmoco.getItems().clear();
         listaJantar.getItems().clear();
+        lblStatus.setText("Carregando...");
+        lblStatus.setStyle("-fx-text-fill: gray;");
+        cache.buscar(data).whenComplete((cardapio, erro) -> Platform.runLater(() -> {
+            if (!data.equals(datePicker.getValue())) {
+                return; // O aluno já escolheu outra data
+            }
+            Throwable causa = erro instanceof CompletionException ? erro.getCause() : erro;
+            if (causa instanceof SobrecargaException) {
+                // Sistema em pico: avisa o aluno em vez de travar a tela
+                long segundos = Math.max(1, (((SobrecargaException) causa).getEsperarMs() + 999) / 1000);
+                lblStatus.setText("Sistema ocupado. Tente novamente em " + segundos + "s.");
+                lblStatus.setStyle("-fx-text-fill: orange;");
+            } else if (causa != null) {
+                lblStatus.setText("Não foi possível carregar o cardápio.");
+                lblStatus.setStyle("-fx-text-fill: red;");
+            } else {
+                exibirCardapio(cardapio);
+            }
+        }));
+    }
 
-        CardapioDiario cardapio = controller.obterCardapio(data);
+    private void exibirCardapio(CardapioDiario cardapio) {
+        listaAlmoco.getItems().clear();
+        listaJantar.getItems().clear();
 
         // LÓGICA: Só mostra se estiver publicado
         if (cardapio.isPublicado()) {
@@ -0,0 +1,171 @@
+package Controller;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import Model.CardapioDiario;
+import Model.TipoPrato;
+import Model.TipoRefeicao;
+
+/**
+ * Testes da capacidade reservada ao administrador: as leituras dos alunos usam a fotografia
+ * dos publicados do ControleRU e não seguram o lock que as escritas precisam.
+ * Rodar com scripts/testes.sh; o processo termina com código 1 se algum teste falhar.
+ */
+public class TesteCapacidadeAdministrador {
+
+    /** Tempo máximo aceito para uma escrita do administrador durante o pico de leituras */
+    private static final long LIMITE_ESCRITA_MS = 200;
+
+    /** Tamanho do cardápio publicado que os leitores copiam a cada leitura */
+    private static final int ITENS_PUBLICADOS = 60;
+
+    private static int falhas;
+    private static int executados;
+
+    public static void main(String[] args) throws Exception {
+        testar("fotografia acompanha as escritas", TesteCapacidadeAdministrador::fotografiaAcompanhaEscritas);
+        testar("leitura sem o lock do controlador", TesteCapacidadeAdministrador::leituraSemLock);
+        testar("escrita com leituras saturadas", TesteCapacidadeAdministrador::escritaComLeiturasSaturadas);
+
+        System.out.println(executados + " testes, " + falhas + " falha(s).");
+        if (falhas > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void fotografiaAcompanhaEscritas() {
+        ControleRU controle = new ControleRU();
+        LocalDate data = LocalDate.of(2030, 1, 10);
+
+        controle.adicionarItem(data, TipoRefeicao.ALMOCO, "Arroz", TipoPrato.ACOMPANHAMENTO);
+        verificar(controle.obterCardapioPublicado(data) == null, "rascunho visível para os alunos");
+
+        controle.definirPublicado(data, true);
+        verificar(controle.listarDatasPublicadas().contains(data), "data publicada fora da lista");
+        verificar(controle.obterCardapioPublicado(data).getQuantidadeItens() == 1, "itens do publicado");
+
+        controle.adicionarItem(data, TipoRefeicao.JANTAR, "Sopa", TipoPrato.SOPA);
+        verificar(controle.obterCardapioPublicado(data).getQuantidadeItens() == 2, "item novo não apareceu");
+
+        // A cópia devolvida é do leitor: alterá-la não muda o que os outros alunos veem
+        CardapioDiario copia = controle.obterCardapioPublicado(data);
+        copia.setPublicado(false);
+        verificar(controle.obterCardapioPublicado(data).isPublicado(), "cópia compartilhada entre leitores");
+
+        controle.definirPublicado(data, false);
+        verificar(controle.obterCardapioPublicado(data) == null, "despublicado ainda visível");
+        verificar(!controle.listarDatasPublicadas().contains(data), "despublicado ainda na lista");
+
+        controle.definirPublicado(data, true);
+        controle.limparPeriodo(data, data);
+        verificar(controle.obterCardapioPublicado(data) == null, "dia removido ainda visível");
+    }
+
+    private static void leituraSemLock() throws Exception {
+        ControleRU controle = new ControleRU();
+        LocalDate data = LocalDate.of(2030, 1, 20);
+        controle.adicionarItem(data, TipoRefeicao.ALMOCO, "Arroz", TipoPrato.ACOMPANHAMENTO);
+        controle.definirPublicado(data, true);
+
+        // Enquanto o lock do controlador estiver ocupado (como por uma escrita longa),
+        // as leituras dos alunos precisam continuar sendo atendidas
+        CompletableFuture<Integer> leitura;
+        synchronized (controle) {
+            leitura = CompletableFuture.supplyAsync(() ->
+                    controle.obterCardapioPublicado(data).getQuantidadeItens() + controle.listarDatasPublicadas().size());
+            try {
+                verificar(leitura.get(1, TimeUnit.SECONDS) == 2, "leitura devolveu dados errados");
+            } catch (TimeoutException e) {
+                throw new AssertionError("leitura esperou o lock do controlador");
+            }
+        }
+    }
+
+    private static void escritaComLeiturasSaturadas() throws InterruptedException {
+        ControleRU controle = new ControleRU();
+        LocalDate publicado = LocalDate.of(2030, 2, 10);
+        for (int i = 0; i < ITENS_PUBLICADOS; i++) {
+            controle.adicionarItem(publicado, i % 2 == 0 ? TipoRefeicao.ALMOCO : TipoRefeicao.JANTAR,
+                    "Prato " + i, TipoPrato.values()[i % TipoPrato.values().length]);
+        }
+        controle.definirPublicado(publicado, true);
+
+        // Leitores sem pausa, mais numerosos que os processadores
+        AtomicBoolean parar = new AtomicBoolean();
+        AtomicLong leituras = new AtomicLong();
+        AtomicBoolean leituraIncompleta = new AtomicBoolean();
+        List<Thread> leitores = new ArrayList<>();
+        int quantidadeLeitores = Runtime.getRuntime().availableProcessors() * 2;
+        for (int i = 0; i < quantidadeLeitores; i++) {
+            Thread leitor = new Thread(() -> {
+                while (!parar.get()) {
+                    CardapioDiario cardapio = controle.obterCardapioPublicado(publicado);
+                    controle.listarDatasPublicadas();
+                    if (cardapio == null || cardapio.getQuantidadeItens() < ITENS_PUBLICADOS) {
+                        leituraIncompleta.set(true);
+                    }
+                    leituras.incrementAndGet();
+                }
+            }, "leitor-" + i);
+            leitor.setDaemon(true);
+            leitores.add(leitor);
+            leitor.start();
+        }
+
+        try {
+            Thread.sleep(200); // deixa os leitores ocuparem os processadores
+
+            LocalDate rascunho = LocalDate.of(2030, 2, 11);
+            long piorNs = 0;
+            for (int i = 0; i < 200; i++) {
+                long inicio = System.nanoTime();
+                if (i % 10 == 9) {
+                    controle.definirPublicado(publicado, true);
+                } else {
+                    controle.adicionarItem(rascunho, TipoRefeicao.ALMOCO, "Novo " + i, TipoPrato.PRINCIPAL);
+                }
+                piorNs = Math.max(piorNs, System.nanoTime() - inicio);
+            }
+
+            long piorMs = piorNs / 1_000_000;
+            verificar(leituras.get() > quantidadeLeitores * 10L, "leituras insuficientes para saturar: " + leituras.get());
+            verificar(!leituraIncompleta.get(), "leitura viu um cardápio incompleto");
+            verificar(piorMs <= LIMITE_ESCRITA_MS, "escrita levou " + piorMs + " ms com leituras saturadas");
+        } finally {
+            parar.set(true);
+            for (Thread leitor : leitores) {
+                leitor.join();
+            }
+        }
+    }
+
+    // ==================== Auxiliares ====================
+
+    private interface Teste {
+        void executar() throws Exception;
+    }
+
+    private static void testar(String nome, Teste teste) {
+        executados++;
+        try {
+            teste.executar();
+            System.out.println("ok     " + nome);
+        } catch (Throwable e) {
+            falhas++;
+            System.out.println("FALHOU " + nome + ": " + e);
+        }
+    }
+
+    private static void verificar(boolean condicao, String mensagem) {
+        if (!condicao) {
+            throw new AssertionError(mensagem);
+        }
+    }
+}
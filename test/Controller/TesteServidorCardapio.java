@@ -0,0 +1,94 @@
+package Controller;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import Model.ConfiguracoesAplicacao;
+
+/**
+ * Testes do ServidorCardapio que dependem da configuração (arquivo temporário em "ru.config").
+ * Rodar com scripts/testes.sh; o processo termina com código 1 se algum teste falhar.
+ */
+public class TesteServidorCardapio {
+
+    private static Path arquivoConfig;
+
+    private static int falhas;
+    private static int executados;
+
+    public static void main(String[] args) throws Exception {
+        // Precisa vir antes do primeiro acesso a ConfiguracoesAplicacao
+        arquivoConfig = Files.createTempFile("ru-teste", ".properties");
+        System.setProperty("ru.config", arquivoConfig.toString());
+
+        testar("pool redimensionado sem reiniciar", TesteServidorCardapio::poolRedimensionado);
+
+        Files.deleteIfExists(arquivoConfig);
+        System.out.println(executados + " testes, " + falhas + " falha(s).");
+        if (falhas > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void poolRedimensionado() throws Exception {
+        configurarPool(2);
+        ServidorCardapio servidor = new ServidorCardapio(new ControleRU(), new ControleAdmissao());
+        servidor.iniciar(0);
+        try {
+            verificar(servidor.getTamanhoPool() == 2, "pool inicial: " + servidor.getTamanhoPool());
+
+            configurarPool(5);
+            verificar(servidor.getTamanhoPool() == 5, "pool não cresceu: " + servidor.getTamanhoPool());
+            verificar(get(servidor, "/datas").equals("[]"), "resposta depois de crescer");
+
+            configurarPool(1);
+            verificar(servidor.getTamanhoPool() == 1, "pool não diminuiu: " + servidor.getTamanhoPool());
+            verificar(get(servidor, "/datas").equals("[]"), "resposta depois de diminuir");
+        } finally {
+            servidor.parar();
+        }
+        verificar(servidor.getTamanhoPool() == 0, "pool ainda ativo após parar");
+    }
+
+    // ==================== Auxiliares ====================
+
+    private static void configurarPool(int tamanho) throws Exception {
+        Files.writeString(arquivoConfig, "pool.tamanho=" + tamanho + "\n");
+        ConfiguracoesAplicacao.getInstancia().recarregar();
+    }
+
+    private static String get(ServidorCardapio servidor, String caminho) throws Exception {
+        HttpURLConnection conexao = (HttpURLConnection) new URL("http://localhost:" + servidor.getPorta() + caminho).openConnection();
+        try (InputStream entrada = conexao.getInputStream()) {
+            verificar(conexao.getResponseCode() == 200, caminho + " respondeu " + conexao.getResponseCode());
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        } finally {
+            conexao.disconnect();
+        }
+    }
+
+    private interface Teste {
+        void executar() throws Exception;
+    }
+
+    private static void testar(String nome, Teste teste) {
+        executados++;
+        try {
+            teste.executar();
+            System.out.println("ok     " + nome);
+        } catch (Throwable e) {
+            falhas++;
+            System.out.println("FALHOU " + nome + ": " + e);
+        }
+    }
+
+    private static void verificar(boolean condicao, String mensagem) {
+        if (!condicao) {
+            throw new AssertionError(mensagem);
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package Model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Testes de ida e volta do CodecCardapio (JSON e binário), sem dependências externas.
+ * Rodar com scripts/testes.sh; o processo termina com código 1 se algum teste falhar.
+ */
+public class TesteCodecCardapio {
+
+    private static int falhas;
+    private static int executados;
+
+    public static void main(String[] args) throws Exception {
+        testar("cardápio vazio", TesteCodecCardapio::cardapioVazio);
+        testar("refeição vazia", TesteCodecCardapio::refeicaoVazia);
+        testar("todos os tipos de prato", TesteCodecCardapio::todosOsTiposDePrato);
+        testar("escapes no JSON", TesteCodecCardapio::escapes);
+        testar("acentos e pares substitutos", TesteCodecCardapio::acentosEPares);
+        testar("ordem dos itens preservada", TesteCodecCardapio::ordemPreservada);
+        testar("nome maior que o buffer interno", TesteCodecCardapio::nomeGrande);
+        testar("instância reaproveitada", TesteCodecCardapio::instanciaReaproveitada);
+        testar("JSON com espaços e \\u escapados", TesteCodecCardapio::jsonComEspacos);
+        testar("JSON com chaves desconhecidas", TesteCodecCardapio::chavesDesconhecidas);
+        testar("JSON truncado", TesteCodecCardapio::jsonTruncado);
+        testar("JSON inválido", TesteCodecCardapio::jsonInvalido);
+        testar("binário truncado", TesteCodecCardapio::binarioTruncado);
+        testar("binário com versão ou tipo inválidos", TesteCodecCardapio::binarioInvalido);
+        testar("vários cardápios no mesmo buffer", TesteCodecCardapio::variosNoMesmoBuffer);
+
+        System.out.println(executados + " testes, " + falhas + " falha(s).");
+        if (falhas > 0) {
+            System.exit(1);
+        }
+    }
+
+    // ==================== Ida e volta ====================
+
+    private static void cardapioVazio() throws IOException {
+        verificarIdaEVolta(new CardapioDiario(LocalDate.of(2025, 3, 10)));
+    }
+
+    private static void refeicaoVazia() throws IOException {
+        CardapioDiario cardapio = new CardapioDiario(LocalDate.of(2025, 3, 10));
+        cardapio.addItem(new ItemCardapio(1, TipoRefeicao.JANTAR, "Sopa de legumes", TipoPrato.SOPA));
+        cardapio.setPublicado(true);
+        verificarIdaEVolta(cardapio);
+    }
+
+    private static void todosOsTiposDePrato() throws IOException {
+        CardapioDiario cardapio = new CardapioDiario(LocalDate.of(1999, 12, 31));
+        long id = Long.MAX_VALUE - 100;
+        for (TipoRefeicao refeicao : TipoRefeicao.values()) {
+            for (TipoPrato prato : TipoPrato.values()) {
+                cardapio.addItem(new ItemCardapio(id++, refeicao, prato.name() + " " + refeicao.name(), prato));
+            }
+        }
+        // Os limites de long continuam aceitos no JSON
+        cardapio.addItem(new ItemCardapio(Long.MAX_VALUE, TipoRefeicao.ALMOCO, "Maior id", TipoPrato.SOPA));
+        cardapio.addItem(new ItemCardapio(Long.MIN_VALUE, TipoRefeicao.JANTAR, "Menor id", TipoPrato.SOPA));
+        verificarIdaEVolta(cardapio);
+    }
+
+    private static void escapes() throws IOException {
+        CardapioDiario cardapio = new CardapioDiario(LocalDate.of(2025, 1, 1));
+        cardapio.addItem(new ItemCardapio(1, TipoRefeicao.ALMOCO, "Arroz \"à grega\"", TipoPrato.ACOMPANHAMENTO));
+        cardapio.addItem(new ItemCardapio(2, TipoRefeicao.ALMOCO, "Barra \\ invertida / normal", TipoPrato.PRINCIPAL));
+        cardapio.addItem(new ItemCardapio(3, TipoRefeicao.ALMOCO, "Linha\nnova\tcom\rcontrole\u0001\b\f", TipoPrato.SALADA));
+        cardapio.addItem(new ItemCardapio(4, TipoRefeicao.JANTAR, "{\"id\":99}", TipoPrato.SOBREMESA));
+        verificarIdaEVolta(cardapio);
+
+        // O JSON gerado não pode ter caracteres de controle crus
+        String json = new String(paraJson(cardapio), StandardCharsets.UTF_8);
+        for (char c : json.toCharArray()) {
+            verificar(c >= 0x20, "caractere de controle sem escape no JSON: " + (int) c);
+        }
+    }
+
+    private static void acentosEPares() throws IOException {
+        CardapioDiario cardapio = new CardapioDiario(LocalDate.of(2025, 6, 15));
+        cardapio.addItem(new ItemCardapio(1, TipoRefeicao.ALMOCO, "Feijão tropeiro com açaí", TipoPrato.PRINCIPAL));
+        cardapio.addItem(new ItemCardapio(2, TipoRefeicao.ALMOCO, "Sobremesa \uD83C\uDF70 do dia", TipoPrato.SOBREMESA));
+        cardapio.addItem(new ItemCardapio(3, TipoRefeicao.JANTAR, "Chá \u2615 e 漢字", TipoPrato.BEBIDA));
+        verificarIdaEVolta(cardapio);
+
+        // O tamanho calculado deve bater com os bytes UTF-8 reais
+        int esperado = 0;
+        for (ItemCardapio item : itens(cardapio)) {
+            esperado += 8 + 1 + 4 + item.getNome().getBytes(StandardCharsets.UTF_8).length;
+        }
+        esperado += 1 + 4 + 1 + 4 * TipoRefeicao.values().length;
+        verificar(CodecCardapio.tamanhoBinario(cardapio) == esperado, "tamanhoBinario diferente dos bytes UTF-8");
+    }
+
+    private static void ordemPreservada() throws IOException {
+        CardapioDiario cardapio = new CardapioDiario(LocalDate.of(2025, 3, 10));
+        cardapio.addItem(new ItemCardapio(10, TipoRefeicao.ALMOCO, "Primeiro", TipoPrato.PRINCIPAL));
+        cardapio.addItem(new ItemCardapio(20, TipoRefeicao.ALMOCO, "Segundo", TipoPrato.SALADA));
+        cardapio.addItem(new ItemCardapio(30, TipoRefeicao.ALMOCO, "Terceiro", TipoPrato.SOPA));
+        cardapio.reordenarItem(30, 10L);
+        verificarIdaEVolta(cardapio);
+    }
+
+    private static void nomeGrande() throws IOException {
+        char[] nome = new char[20_000];
+        Arrays.fill(nome, 'ã');
+        CardapioDiario cardapio = new CardapioDiario(LocalDate.of(2025, 3, 10));
+        cardapio.addItem(new ItemCardapio(1, TipoRefeicao.ALMOCO, new String(nome), TipoPrato.PRINCIPAL));
+        verificarIdaEVolta(cardapio);
+
+        // Binário lido de um buffer direto (sem array) usa outro caminho de decodificação
+        CardapioDiario lido = new CodecCardapio().lerBinario(paraBinario(cardapio, true));
+        verificarIguais(cardapio, lido);
+    }
+
+    private static void instanciaReaproveitada() throws IOException {
+        CodecCardapio codec = new CodecCardapio();
+        for (int i = 0; i < 50; i++) {
+            CardapioDiario cardapio = new CardapioDiario(LocalDate.of(2025, 1, 1).plusDays(i));
+            for (int j = 0; j < i % 7; j++) {
+                cardapio.addItem(new ItemCardapio(i * 100L + j, TipoRefeicao.values()[j % 2], "Prato " + i + "-" + j, TipoPrato.values()[j]));
+            }
+            ByteArrayOutputStream saida = new ByteArrayOutputStream();
+            codec.escreverJson(cardapio, saida);
+            verificarIguais(cardapio, codec.lerJson(new ByteArrayInputStream(saida.toByteArray())));
+
+            ByteBuffer buffer = ByteBuffer.allocate(CodecCardapio.tamanhoBinario(cardapio));
+            codec.escreverBinario(cardapio, buffer);
+            buffer.flip();
+            verificarIguais(cardapio, codec.lerBinario(buffer));
+        }
+    }
+
+    // ==================== Leitura de JSON escrito à mão ====================
+
+    private static void jsonComEspacos() throws IOException {
+        String json = "{ \"jantar\" : [ ] ,\n \"almoco\": [ { \"tipoPrato\" : \"SALADA\", \"nome\" : \"Alface \\u00e9 \\uD83E\\uDD6C\" , \"id\" : 7 } ],"
+                + "\t\"publicado\" : true , \"data\" : \"2025-03-10\" }";
+        CardapioDiario lido = lerJson(json);
+        verificar(lido.getData().equals(LocalDate.of(2025, 3, 10)), "data");
+        verificar(lido.isPublicado(), "publicado");
+        verificar(lido.getItensAlmoco().size() == 1, "quantidade de itens");
+        ItemCardapio item = lido.getItensAlmoco().get(0);
+        verificar(item.getId() == 7, "id");
+        verificar(item.getTipoPrato() == TipoPrato.SALADA, "tipoPrato");
+        verificar(item.getNome().equals("Alface é \uD83E\uDD6C"), "nome: " + item.getNome());
+    }
+
+    private static void chavesDesconhecidas() throws IOException {
+        String json = "{\"versao\":3,\"data\":\"2025-03-10\",\"extra\":{\"a\":[1,2.5,-3e2,{\"b\":null}],\"c\":\"}\"},"
+                + "\"publicado\":false,\"cafe\":[{\"id\":1}],"
+                + "\"almoco\":[{\"id\":1,\"calorias\":450,\"nome\":\"Arroz\",\"alergenos\":[\"gluten\"],\"vegano\":true,\"tipoPrato\":\"ACOMPANHAMENTO\"}],"
+                + "\"jantar\":[],\"fim\":null}";
+        CardapioDiario lido = lerJson(json);
+        verificar(lido.getData().equals(LocalDate.of(2025, 3, 10)), "data");
+        verificar(!lido.isPublicado(), "publicado");
+        verificar(lido.getQuantidadeItens() == 1, "quantidade de itens");
+        verificar(lido.getItensAlmoco().get(0).getNome().equals("Arroz"), "nome");
+    }
+
+    private static void jsonTruncado() throws IOException {
+        CardapioDiario cardapio = new CardapioDiario(LocalDate.of(2025, 3, 10));
+        cardapio.addItem(new ItemCardapio(1, TipoRefeicao.ALMOCO, "Feijão \uD83C\uDF72", TipoPrato.PRINCIPAL));
+        cardapio.addItem(new ItemCardapio(2, TipoRefeicao.JANTAR, "Sopa", TipoPrato.SOPA));
+        byte[] json = paraJson(cardapio);
+
+        // Qualquer corte antes do último byte deve falhar com IOException (e nunca devolver um cardápio)
+        for (int tamanho = 0; tamanho < json.length; tamanho++) {
+            esperarIOException(Arrays.copyOf(json, tamanho), "JSON cortado em " + tamanho + " bytes");
+        }
+    }
+
+    private static void jsonInvalido() {
+        esperarIOException("{\"almoco\":[]}", "sem data");
+        esperarIOException("{\"data\":\"10/03/2025\"}", "data em outro formato");
+        esperarIOException("{\"data\":\"2025-03-10\",\"almoco\":[{\"id\":1,\"nome\":\"X\"}]}", "item sem tipoPrato");
+        esperarIOException("{\"data\":\"2025-03-10\",\"almoco\":[{\"id\":1,\"nome\":\"X\",\"tipoPrato\":\"PIZZA\"}]}", "tipoPrato desconhecido");
+        esperarIOException("{\"data\":\"2025-03-10\",\"publicado\":talvez}", "booleano inválido");
+        esperarIOException("{\"data\":\"2025-03-10\",\"almoco\":[{\"id\":1,\"nome\":\"\\q\",\"tipoPrato\":\"SOPA\"}]}", "escape inválido");
+        esperarIOException(new byte[] {'{', '"', (byte) 0xC3, '"', ':', '1', '}'}, "UTF-8 inválido");
+        esperarIOException("{\"data\":\"2025-03-10\",\"almoco\":[{\"id\":9223372036854775808,\"nome\":\"X\",\"tipoPrato\":\"SOPA\"}]}", "id acima de Long.MAX_VALUE");
+        esperarIOException("{\"data\":\"2025-03-10\",\"almoco\":[{\"id\":-9223372036854775809,\"nome\":\"X\",\"tipoPrato\":\"SOPA\"}]}", "id abaixo de Long.MIN_VALUE");
+        esperarIOException("{\"data\":\"2025-03-10\",\"almoco\":[{\"id\":123456789012345678901234,\"nome\":\"X\",\"tipoPrato\":\"SOPA\"}]}", "id com mais de 19 dígitos");
+    }
+
+    // ==================== Binário ====================
+
+    private static void binarioTruncado() throws IOException {
+        CardapioDiario cardapio = new CardapioDiario(LocalDate.of(2025, 3, 10));
+        cardapio.addItem(new ItemCardapio(1, TipoRefeicao.ALMOCO, "Feijão \uD83C\uDF72", TipoPrato.PRINCIPAL));
+        cardapio.addItem(new ItemCardapio(2, TipoRefeicao.JANTAR, "Sopa", TipoPrato.SOPA));
+        byte[] binario = paraBinario(cardapio, false).array();
+
+        for (int tamanho = 0; tamanho < binario.length; tamanho++) {
+            try {
+                new CodecCardapio().lerBinario(ByteBuffer.wrap(binario, 0, tamanho));
+                verificar(false, "binário cortado em " + tamanho + " bytes foi aceito");
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                // esperado
+            }
+        }
+
+        // Sem espaço suficiente, a escrita falha em vez de gravar um cardápio pela metade em silêncio
+        try {
+            new CodecCardapio().escreverBinario(cardapio, ByteBuffer.allocate(binario.length - 1));
+            verificar(false, "escrita em buffer pequeno foi aceita");
+        } catch (java.nio.BufferOverflowException e) {
+            // esperado
+        }
+    }
+
+    private static void binarioInvalido() throws IOException {
+        CardapioDiario cardapio = new CardapioDiario(LocalDate.of(2025, 3, 10));
+        cardapio.addItem(new ItemCardapio(1, TipoRefeicao.ALMOCO, "Arroz", TipoPrato.ACOMPANHAMENTO));
+        byte[] binario = paraBinario(cardapio, false).array();
+
+        byte[] versaoErrada = binario.clone();
+        versaoErrada[0] = 99;
+        esperarIllegalArgument(versaoErrada, "versão desconhecida");
+
+        // versão(1) + dia(4) + publicado(1) + quantidade(4) + id(8) = posição do ordinal do TipoPrato
+        byte[] pratoErrado = binario.clone();
+        pratoErrado[1 + 4 + 1 + 4 + 8] = (byte) TipoPrato.values().length;
+        esperarIllegalArgument(pratoErrado, "ordinal de TipoPrato fora do enum");
+
+        byte[] tamanhoErrado = binario.clone();
+        ByteBuffer.wrap(tamanhoErrado).putInt(1 + 4 + 1 + 4 + 8 + 1, Integer.MAX_VALUE);
+        esperarIllegalArgument(tamanhoErrado, "tamanho de nome maior que o buffer");
+    }
+
+    private static void variosNoMesmoBuffer() throws IOException {
+        CodecCardapio codec = new CodecCardapio();
+        List<CardapioDiario> cardapios = List.of(
+                new CardapioDiario(LocalDate.of(2025, 3, 10)),
+                new CardapioDiario(LocalDate.of(2025, 3, 11)),
+                new CardapioDiario(LocalDate.of(2025, 3, 12)));
+        cardapios.get(1).addItem(new ItemCardapio(5, TipoRefeicao.ALMOCO, "Purê", TipoPrato.ACOMPANHAMENTO));
+        cardapios.get(2).setPublicado(true);
+
+        int tamanho = 0;
+        for (CardapioDiario cardapio : cardapios) {
+            tamanho += CodecCardapio.tamanhoBinario(cardapio);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(tamanho);
+        for (CardapioDiario cardapio : cardapios) {
+            codec.escreverBinario(cardapio, buffer);
+        }
+        verificar(!buffer.hasRemaining(), "tamanhoBinario não bate com o que foi escrito");
+
+        buffer.flip();
+        for (CardapioDiario cardapio : cardapios) {
+            verificarIguais(cardapio, codec.lerBinario(buffer));
+        }
+        verificar(!buffer.hasRemaining(), "sobraram bytes no buffer");
+    }
+
+    // ==================== Auxiliares ====================
+
+    private interface Teste {
+        void executar() throws Exception;
+    }
+
+    private static void testar(String nome, Teste teste) {
+        executados++;
+        try {
+            teste.executar();
+            System.out.println("ok     " + nome);
+        } catch (Throwable e) {
+            falhas++;
+            System.out.println("FALHOU " + nome + ": " + e);
+        }
+    }
+
+    private static void verificar(boolean condicao, String mensagem) {
+        if (!condicao) {
+            throw new AssertionError(mensagem);
+        }
+    }
+
+    private static void verificarIdaEVolta(CardapioDiario cardapio) throws IOException {
+        CodecCardapio codec = new CodecCardapio();
+        verificarIguais(cardapio, codec.lerJson(new ByteArrayInputStream(paraJson(cardapio))));
+        verificarIguais(cardapio, codec.lerJson(new EntradaByteAByte(paraJson(cardapio))));
+        verificarIguais(cardapio, codec.lerBinario(paraBinario(cardapio, false)));
+
+        // O JSON também deve ser UTF-8 válido e igual ao decodificado pela biblioteca padrão
+        byte[] json = paraJson(cardapio);
+        verificar(Arrays.equals(json, new String(json, StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8)),
+                "JSON não é UTF-8 válido");
+    }
+
+    private static void verificarIguais(CardapioDiario esperado, CardapioDiario lido) {
+        verificar(esperado.getData().equals(lido.getData()), "data: " + lido.getData());
+        verificar(esperado.isPublicado() == lido.isPublicado(), "publicado: " + lido.isPublicado());
+        for (TipoRefeicao refeicao : TipoRefeicao.values()) {
+            List<ItemCardapio> a = esperado.getItens(refeicao).listar();
+            List<ItemCardapio> b = lido.getItens(refeicao).listar();
+            verificar(a.size() == b.size(), refeicao + ": " + b.size() + " itens em vez de " + a.size());
+            for (int i = 0; i < a.size(); i++) {
+                ItemCardapio x = a.get(i);
+                ItemCardapio y = b.get(i);
+                verificar(x.getId() == y.getId(), refeicao + "[" + i + "].id: " + y.getId());
+                verificar(x.getNome().equals(y.getNome()), refeicao + "[" + i + "].nome: " + y.getNome());
+                verificar(x.getTipoPrato() == y.getTipoPrato(), refeicao + "[" + i + "].tipoPrato: " + y.getTipoPrato());
+                verificar(y.getTipo() == refeicao, refeicao + "[" + i + "].tipo: " + y.getTipo());
+            }
+        }
+    }
+
+    private static List<ItemCardapio> itens(CardapioDiario cardapio) {
+        List<ItemCardapio> itens = cardapio.getItens(TipoRefeicao.ALMOCO).listar();
+        itens.addAll(cardapio.getItens(TipoRefeicao.JANTAR).listar());
+        return itens;
+    }
+
+    private static byte[] paraJson(CardapioDiario cardapio) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        new CodecCardapio().escreverJson(cardapio, saida);
+        return saida.toByteArray();
+    }
+
+    private static ByteBuffer paraBinario(CardapioDiario cardapio, boolean direto) {
+        int tamanho = CodecCardapio.tamanhoBinario(cardapio);
+        ByteBuffer buffer = direto ? ByteBuffer.allocateDirect(tamanho) : ByteBuffer.allocate(tamanho);
+        new CodecCardapio().escreverBinario(cardapio, buffer);
+        verificar(!buffer.hasRemaining(), "tamanhoBinario não bate com o que foi escrito");
+        buffer.flip();
+        return buffer;
+    }
+
+    private static CardapioDiario lerJson(String json) throws IOException {
+        return new CodecCardapio().lerJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void esperarIOException(String json, String caso) {
+        esperarIOException(json.getBytes(StandardCharsets.UTF_8), caso);
+    }
+
+    private static void esperarIOException(byte[] json, String caso) {
+        try {
+            new CodecCardapio().lerJson(new ByteArrayInputStream(json));
+        } catch (IOException e) {
+            return;
+        }
+        verificar(false, caso + ": JSON aceito");
+    }
+
+    private static void esperarIllegalArgument(byte[] binario, String caso) {
+        try {
+            new CodecCardapio().lerBinario(ByteBuffer.wrap(binario));
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        verificar(false, caso + ": binário aceito");
+    }
+
+    /**
+     * Stream que entrega um byte por leitura, para exercitar as fronteiras do buffer de entrada
+     * (inclusive no meio de caracteres UTF-8 de vários bytes).
+     */
+    private static class EntradaByteAByte extends InputStream {
+        private final byte[] dados;
+        private int posicao;
+
+        EntradaByteAByte(byte[] dados) {
+            this.dados = dados;
+        }
+
+        @Override
+        public int read() {
+            return posicao < dados.length ? dados[posicao++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] destino, int inicio, int tamanho) {
+            if (posicao >= dados.length) {
+                return -1;
+            }
+            if (tamanho == 0) {
+                return 0;
+            }
+            destino[inicio] = dados[posicao++];
+            return 1;
+        }
+    }
+}
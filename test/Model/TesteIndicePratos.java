@@ -0,0 +1,103 @@
+package Model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Testes do equilíbrio entre frequência e recência nas sugestões do IndicePratos.
+ * Rodar com scripts/testes.sh; o processo termina com código 1 se algum teste falhar.
+ */
+public class TesteIndicePratos {
+
+    private static final LocalDate HOJE = LocalDate.of(2030, 6, 15);
+
+    private static int falhas;
+    private static int executados;
+
+    public static void main(String[] args) {
+        testar("frequência antiga vence uso único recente", TesteIndicePratos::frequenciaAntigaVence);
+        testar("recência desempata a mesma frequência", TesteIndicePratos::recenciaDesempata);
+        testar("um trimestre equivale a um uso", TesteIndicePratos::trimestreEquivaleUso);
+        testar("datas anteriores à origem", TesteIndicePratos::datasAnterioresOrigem);
+
+        System.out.println(executados + " testes, " + falhas + " falha(s).");
+        if (falhas > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void frequenciaAntigaVence() {
+        IndicePratos indice = new IndicePratos();
+        usar(indice, "Feijoada", 100, HOJE.minusYears(3));
+        usar(indice, "Fondue", 1, HOJE.minusDays(1));
+        verificar(indice.sugerir("f", TipoPrato.PRINCIPAL, 2).equals(List.of("Feijoada", "Fondue")),
+                "uso único recente passou o prato habitual: " + indice.sugerir("f", TipoPrato.PRINCIPAL, 2));
+
+        // Alguns usos a mais também pesam mais que um mês de diferença
+        usar(indice, "Frango", 5, HOJE.minusDays(30));
+        verificar(indice.sugerir("f", TipoPrato.PRINCIPAL, 3).get(1).equals("Frango"),
+                "cinco usos do mês passado atrás de um uso de ontem");
+    }
+
+    private static void recenciaDesempata() {
+        IndicePratos indice = new IndicePratos();
+        usar(indice, "Lasanha", 2, HOJE.minusDays(10));
+        usar(indice, "Lentilha", 2, HOJE.minusDays(9));
+        verificar(indice.sugerir("l", TipoPrato.PRINCIPAL, 2).equals(List.of("Lentilha", "Lasanha")),
+                "mesma frequência não ordenada pela recência");
+    }
+
+    private static void trimestreEquivaleUso() {
+        int dias = (int) IndicePratos.DIAS_POR_USO;
+
+        IndicePratos indice = new IndicePratos();
+        usar(indice, "Moqueca", 3, HOJE);
+        usar(indice, "Macarrão", 1, HOJE.plusDays(2L * dias + 1));
+        verificar(indice.sugerir("m", TipoPrato.PRINCIPAL, 1).equals(List.of("Macarrão")),
+                "dois usos a menos não compensados por " + (2 * dias + 1) + " dias");
+
+        indice = new IndicePratos();
+        usar(indice, "Moqueca", 3, HOJE);
+        usar(indice, "Macarrão", 1, HOJE.plusDays(2L * dias - 1));
+        verificar(indice.sugerir("m", TipoPrato.PRINCIPAL, 1).equals(List.of("Moqueca")),
+                "dois usos a menos compensados por " + (2 * dias - 1) + " dias");
+    }
+
+    private static void datasAnterioresOrigem() {
+        IndicePratos indice = new IndicePratos();
+        LocalDate antiga = IndicePratos.ORIGEM_RECENCIA.minusYears(10);
+        usar(indice, "Quibe", 1, antiga);
+        usar(indice, "Quiche", 1, antiga.plusDays(1));
+        verificar(indice.sugerir("qui", TipoPrato.PRINCIPAL, 2).equals(List.of("Quiche", "Quibe")),
+                "recência antes da origem invertida");
+    }
+
+    // ==================== Auxiliares ====================
+
+    private static void usar(IndicePratos indice, String nome, int vezes, LocalDate data) {
+        for (int i = 0; i < vezes; i++) {
+            indice.adicionar(nome, TipoPrato.PRINCIPAL, data);
+        }
+    }
+
+    private interface Teste {
+        void executar() throws Exception;
+    }
+
+    private static void testar(String nome, Teste teste) {
+        executados++;
+        try {
+            teste.executar();
+            System.out.println("ok     " + nome);
+        } catch (Throwable e) {
+            falhas++;
+            System.out.println("FALHOU " + nome + ": " + e);
+        }
+    }
+
+    private static void verificar(boolean condicao, String mensagem) {
+        if (!condicao) {
+            throw new AssertionError(mensagem);
+        }
+    }
+}